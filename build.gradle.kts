@@ -34,6 +34,50 @@
         withSourcesJar()
     }
 
+    // Java 11+ replacements (Java Flight Recorder events) packaged as a multi-release jar.
+    val java11 by sourceSets.creating {
+        java.setSrcDirs(listOf("src/main/java11"))
+        resources.setSrcDirs(emptyList<String>())
+        compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    }
+
+    tasks.named<JavaCompile>(java11.compileJavaTaskName) {
+        options.release = 11
+    }
+
+    // Tests for the Java 11+ replacements, run with them ahead of the Java 8 classes as a multi-release jar would.
+    val java11Test by sourceSets.creating {
+        java.setSrcDirs(listOf("src/test/java11"))
+        resources.setSrcDirs(emptyList<String>())
+        compileClasspath += java11.output + sourceSets.main.get().output + sourceSets.test.get().compileClasspath
+        runtimeClasspath += java11.output + sourceSets.main.get().output + sourceSets.test.get().runtimeClasspath
+    }
+
+    tasks.named<JavaCompile>(java11Test.compileJavaTaskName) {
+        options.release = 11
+    }
+
+    val java11TestTask = tasks.register<Test>("java11Test") {
+        description = "Runs the tests against the Java 11+ classes."
+        group = "verification"
+        testClassesDirs = java11Test.output.classesDirs
+        classpath = java11Test.runtimeClasspath
+    }
+
+    tasks.check {
+        dependsOn(java11TestTask)
+    }
+
+    tasks.jar {
+        into("META-INF/versions/11") {
+            from(java11.output)
+        }
+
+        manifest {
+            attributes("Multi-Release" to "true")
+        }
+    }
+
     publishing {
         publications {
             create<MavenPublication>("maven") {
@@ -111,7 +155,7 @@
         rename("LICENSE", "LICENSE-Common")
     }
 
-    tasks.test {
+    tasks.withType<Test> {
         testLogging {
             exceptionFormat = TestExceptionFormat.FULL
         }
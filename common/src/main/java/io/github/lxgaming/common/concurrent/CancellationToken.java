@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signals cooperative cancellation to long-running work.
+ * <p>
+ * Work polls {@link #isCancellationRequested()} or waits with {@link #await(long, TimeUnit)} instead of relying
+ * on thread interruption, which allows it to finish the current unit of work before returning.
+ */
+public class CancellationToken {
+
+    private final CountDownLatch latch;
+    private final List<Runnable> callbacks;
+
+    public CancellationToken() {
+        this.latch = new CountDownLatch(1);
+        this.callbacks = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Requests cancellation and runs every registered callback, subsequent calls have no effect.
+     */
+    public void cancel() {
+        synchronized (latch) {
+            if (latch.getCount() == 0) {
+                return;
+            }
+
+            latch.countDown();
+        }
+
+        RuntimeException ex = null;
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException t) {
+                if (ex == null) {
+                    ex = t;
+                } else {
+                    ex.addSuppressed(t);
+                }
+            }
+        }
+
+        callbacks.clear();
+        if (ex != null) {
+            throw ex;
+        }
+    }
+
+    /**
+     * Registers {@code callback} to run when cancellation is requested, if cancellation has already been requested
+     * {@code callback} runs immediately on the calling thread.
+     *
+     * @param callback the callback
+     */
+    public void register(@NotNull Runnable callback) {
+        synchronized (latch) {
+            if (latch.getCount() != 0) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+
+        callback.run();
+    }
+
+    /**
+     * Waits until cancellation is requested or {@code timeout} elapses, whichever happens first.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of {@code timeout}
+     * @return {@code true} if cancellation has been requested, otherwise {@code false}
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean await(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return latch.await(timeout, unit);
+    }
+
+    public boolean isCancellationRequested() {
+        return latch.getCount() == 0;
+    }
+
+    public void throwIfCancellationRequested() throws CancellationException {
+        if (isCancellationRequested()) {
+            throw new CancellationException("Cancellation has been requested");
+        }
+    }
+}
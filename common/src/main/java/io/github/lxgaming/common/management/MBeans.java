@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.management;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registers MBeans with the platform {@link MBeanServer} under the {@value #DOMAIN} domain.
+ */
+public class MBeans {
+
+    public static final String DOMAIN = "io.github.lxgaming.common";
+
+    /**
+     * Creates an {@link ObjectName} in the {@value #DOMAIN} domain.
+     *
+     * @param type the type key
+     * @param name the name key, quoted if necessary
+     * @return the {@link ObjectName}
+     * @throws IllegalArgumentException if the {@link ObjectName} is invalid
+     */
+    public static @NotNull ObjectName createObjectName(@NotNull String type, @NotNull String name) {
+        try {
+            return new ObjectName(String.format("%s:type=%s,name=%s", DOMAIN, type, quote(name)));
+        } catch (MalformedObjectNameException ex) {
+            throw new IllegalArgumentException(String.format("Invalid ObjectName for %s %s", type, name), ex);
+        }
+    }
+
+    /**
+     * Registers {@code mbean} with the platform {@link MBeanServer}, replacing any MBean registered with the same
+     * {@link ObjectName}.
+     *
+     * @param mbean the MBean or MXBean
+     * @param type  the type key
+     * @param name  the name key
+     * @return the {@link ObjectName} {@code mbean} was registered with
+     * @throws IllegalStateException if {@code mbean} could not be registered
+     */
+    public static @NotNull ObjectName register(@NotNull Object mbean, @NotNull String type, @NotNull String name) {
+        ObjectName objectName = createObjectName(type, name);
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (mbeanServer.isRegistered(objectName)) {
+                mbeanServer.unregisterMBean(objectName);
+            }
+
+            mbeanServer.registerMBean(mbean, objectName);
+            return objectName;
+        } catch (JMException ex) {
+            throw new IllegalStateException(String.format("Failed to register %s", objectName), ex);
+        }
+    }
+
+    /**
+     * Unregisters the MBean registered with {@code objectName} from the platform {@link MBeanServer}.
+     *
+     * @param objectName the {@link ObjectName}
+     * @return {@code true} if an MBean was unregistered, otherwise {@code false}
+     * @throws IllegalStateException if the MBean could not be unregistered
+     */
+    public static boolean unregister(@Nullable ObjectName objectName) {
+        if (objectName == null) {
+            return false;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            return true;
+        } catch (InstanceNotFoundException ex) {
+            return false;
+        } catch (JMException ex) {
+            throw new IllegalStateException(String.format("Failed to unregister %s", objectName), ex);
+        }
+    }
+
+    private static @NotNull String quote(@NotNull String value) {
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character == ',' || character == '=' || character == ':' || character == '"' || character == '*' || character == '?' || character == '\n') {
+                return ObjectName.quote(value);
+            }
+        }
+
+        return value;
+    }
+}
@@ -31,6 +31,8 @@ public abstract class Task implements Runnable {
     private Type type;
     private volatile Exception exception;
     private volatile ScheduledFuture<?> scheduledFuture;
+    private volatile long nextExecutionTime;
+    private final TaskStatistics statistics = new TaskStatistics(this);
 
     public abstract boolean prepare();
 
@@ -38,11 +40,30 @@ public abstract class Task implements Runnable {
 
     @Override
     public final void run() {
+        Object event = TaskEvents.begin();
+        long startTime = System.nanoTime();
+        long nextExecutionTime = this.nextExecutionTime;
+        // A task which is run directly rather than scheduled has no expected start time.
+        long drift = nextExecutionTime != 0L ? startTime - nextExecutionTime : 0L;
+        boolean failed = false;
         try {
             execute();
         } catch (Exception ex) {
+            failed = true;
             setException(ex);
             getScheduledFuture().cancel(false);
+        } finally {
+            statistics.record(System.nanoTime() - startTime, failed);
+
+            if (nextExecutionTime != 0L) {
+                if (type == Type.FIXED_RATE) {
+                    this.nextExecutionTime = nextExecutionTime + TimeUnit.MILLISECONDS.toNanos(interval);
+                } else if (type == Type.FIXED_DELAY) {
+                    this.nextExecutionTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval);
+                }
+            }
+
+            TaskEvents.end(event, this, drift, failed);
         }
     }
 
@@ -86,6 +107,7 @@ public final void schedule(@NotNull ScheduledExecutorService scheduledExecutorSe
         Preconditions.checkNotNull(type, "type");
 
         setException(null);
+        nextExecutionTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
         if (type == Type.DEFAULT) {
             setScheduledFuture(scheduledExecutorService.schedule(this, delay, TimeUnit.MILLISECONDS));
         } else if (type == Type.FIXED_DELAY) {
@@ -95,6 +117,10 @@ public final void schedule(@NotNull ScheduledExecutorService scheduledExecutorSe
         }
     }
 
+    public final @NotNull TaskStatistics getStatistics() {
+        return statistics;
+    }
+
     public final long getDelay() {
         return delay;
     }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.task;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emits Java Flight Recorder events for {@link Task} executions.
+ * <p>
+ * This implementation does nothing, on Java 11 and later it is replaced by the implementation under
+ * {@code META-INF/versions/11} which emits {@code jdk.jfr} events.
+ */
+final class TaskEvents {
+
+    private TaskEvents() {
+    }
+
+    static @Nullable Object begin() {
+        return null;
+    }
+
+    static void end(@Nullable Object event, @NotNull Task task, long drift, boolean failed) {
+    }
+}
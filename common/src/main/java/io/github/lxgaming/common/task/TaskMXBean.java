@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.task;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Management interface exposing the statistics of a {@link Task}.
+ * <p>
+ * Every attribute is read from volatile fields written by the executing thread, no locks are taken.
+ */
+public interface TaskMXBean {
+
+    /**
+     * Gets the type of the task.
+     *
+     * @return the {@link Task.Type} or {@code null} if the type is not set
+     */
+    @Nullable Task.Type getType();
+
+    /**
+     * Gets the delay before the first execution.
+     *
+     * @return the delay in milliseconds
+     */
+    long getDelay();
+
+    /**
+     * Gets the interval between executions.
+     *
+     * @return the interval in milliseconds
+     */
+    long getInterval();
+
+    /**
+     * Gets the number of completed executions.
+     *
+     * @return the number of executions
+     */
+    long getExecutionCount();
+
+    /**
+     * Gets the number of executions which threw an exception.
+     *
+     * @return the number of failed executions
+     */
+    long getFailureCount();
+
+    /**
+     * Gets the duration of the last execution.
+     *
+     * @return the duration in nanoseconds, {@code 0} if the task has not executed
+     */
+    long getLastExecutionTime();
+
+    /**
+     * Gets the mean duration of every execution.
+     *
+     * @return the duration in nanoseconds, {@code 0} if the task has not executed
+     */
+    long getMeanExecutionTime();
+
+    /**
+     * Gets the longest duration of any execution.
+     *
+     * @return the duration in nanoseconds, {@code 0} if the task has not executed
+     */
+    long getMaxExecutionTime();
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.task;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The execution statistics of a {@link Task}, register {@link Task#getStatistics()} to expose them through JMX.
+ * <p>
+ * Executions of a task never overlap, so every statistic has a single writer and is read from a volatile field
+ * without taking any locks.
+ */
+public final class TaskStatistics implements TaskMXBean {
+
+    private final Task task;
+    private volatile long executionCount;
+    private volatile long failureCount;
+    private volatile long lastExecutionTime;
+    private volatile long totalExecutionTime;
+    private volatile long maxExecutionTime;
+
+    TaskStatistics(@NotNull Task task) {
+        this.task = task;
+    }
+
+    void record(long executionTime, boolean failed) {
+        lastExecutionTime = executionTime;
+        totalExecutionTime += executionTime;
+        maxExecutionTime = Math.max(maxExecutionTime, executionTime);
+        executionCount++;
+        if (failed) {
+            failureCount++;
+        }
+    }
+
+    @Override
+    public @Nullable Task.Type getType() {
+        return task.getType();
+    }
+
+    @Override
+    public long getDelay() {
+        return task.getDelay();
+    }
+
+    @Override
+    public long getInterval() {
+        return task.getInterval();
+    }
+
+    @Override
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    @Override
+    public long getLastExecutionTime() {
+        return lastExecutionTime;
+    }
+
+    @Override
+    public long getMeanExecutionTime() {
+        long executionCount = this.executionCount;
+        return executionCount != 0 ? totalExecutionTime / executionCount : 0L;
+    }
+
+    @Override
+    public long getMaxExecutionTime() {
+        return maxExecutionTime;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.task;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emits Java Flight Recorder events for {@link Task} executions.
+ * <p>
+ * {@link #begin()} returns {@code null} when the event is not enabled, so nothing is recorded unless a recording
+ * has enabled it.
+ */
+final class TaskEvents {
+
+    private TaskEvents() {
+    }
+
+    static @Nullable Object begin() {
+        TaskExecutionEvent event = new TaskExecutionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+        return event;
+    }
+
+    static void end(@Nullable Object object, @NotNull Task task, long drift, boolean failed) {
+        if (object == null) {
+            return;
+        }
+
+        TaskExecutionEvent event = (TaskExecutionEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.taskClass = task.getClass();
+            event.type = task.getType() != null ? task.getType().getName() : null;
+            event.delay = task.getDelay();
+            event.interval = task.getInterval();
+            event.drift = drift;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
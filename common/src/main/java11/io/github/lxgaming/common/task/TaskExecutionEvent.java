@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.task;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("io.github.lxgaming.common.TaskExecution")
+@Label("Task Execution")
+@Category({"Common", "Task"})
+@Description("Execution of a scheduled Task")
+final class TaskExecutionEvent extends Event {
+
+    @Label("Task Class")
+    Class<?> taskClass;
+
+    @Label("Type")
+    String type;
+
+    @Label("Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long delay;
+
+    @Label("Interval")
+    @Timespan(Timespan.MILLISECONDS)
+    long interval;
+
+    @Label("Drift")
+    @Description("How late the execution started compared to when it was scheduled to start")
+    @Timespan(Timespan.NANOSECONDS)
+    long drift;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.task;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TaskEventsTest {
+
+    @Test
+    void validateExecutionEvent() throws Exception {
+        Task task = new Task() {
+
+            @Override
+            public boolean prepare() {
+                return true;
+            }
+
+            @Override
+            public void execute() {
+            }
+        };
+
+        Path path = Files.createTempFile("task", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.lxgaming.common.TaskExecution");
+            recording.start();
+            task.run();
+            recording.stop();
+            recording.dump(path);
+        }
+
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+            Assertions.assertEquals(1, events.size());
+
+            RecordedEvent event = events.get(0);
+            Assertions.assertEquals(0L, event.getLong("drift"));
+            Assertions.assertFalse(event.getBoolean("failed"));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -5,6 +5,7 @@
 }
 
 dependencies {
+    api(project(path = ":common"))
     api(project(path = ":common-inject"))
     api("org.slf4j:slf4j-api:${slf4jVersion}")
     testImplementation("org.slf4j:slf4j-simple:${slf4jVersion}")
@@ -22,5 +23,6 @@
 }
 
 tasks.compileJava {
+    dependsOn(":common:build")
     dependsOn(":common-inject:build")
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link HostedService} which starts and stops asynchronously.
+ * <p>
+ * The host waits at most {@link HostEnvironment#getShutdownTimeout()} for every {@link #stopAsync()} to complete,
+ * the futures of services which overrun are cancelled.
+ */
+public interface AsyncHostedService extends HostedService {
+
+    /**
+     * Triggered when the host is ready to start the service.
+     *
+     * @return a future which completes once the service has started
+     */
+    @NotNull CompletableFuture<Void> startAsync();
+
+    /**
+     * Triggered when the host is performing a graceful shutdown.
+     *
+     * @return a future which completes once the service has stopped
+     */
+    @NotNull CompletableFuture<Void> stopAsync();
+
+    @Override
+    default void start() {
+        startAsync().join();
+    }
+
+    @Override
+    default void stop() {
+        stopAsync().join();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.Preconditions;
+import io.github.lxgaming.common.concurrent.CancellationToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link HostedService} which runs {@link #execute(CancellationToken)} on a number of worker threads from the
+ * {@link HostExecutors} executor dedicated to the service instance.
+ * <p>
+ * Stopping the service requests cancellation and completes once every worker has returned, workers are expected to
+ * check the {@link CancellationToken} between units of work. Workers which overrun the shutdown timeout are
+ * interrupted. A stopped service can be started again with a new {@link CancellationToken}.
+ */
+public abstract class BackgroundService implements AsyncHostedService {
+
+    protected static final AtomicInteger IDS = new AtomicInteger();
+
+    protected final Logger logger;
+    protected final HostExecutors hostExecutors;
+    protected final int concurrency;
+    protected final String executorName;
+    protected volatile CancellationToken cancellationToken;
+    protected final Set<Thread> workers;
+    protected ExecutorService executorService;
+    protected CompletableFuture<Void> completion;
+
+    protected BackgroundService(@NotNull HostExecutors hostExecutors) {
+        this(hostExecutors, 1);
+    }
+
+    protected BackgroundService(@NotNull HostExecutors hostExecutors, @Range(from = 1, to = Integer.MAX_VALUE) int concurrency) {
+        Preconditions.checkArgument(concurrency >= 1, "concurrency must be at least 1");
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.hostExecutors = hostExecutors;
+        this.concurrency = concurrency;
+        // Executors are shared by name and keep the size they were created with, so each service gets its own.
+        this.executorName = String.format("%s #%d", getClass().getName(), IDS.incrementAndGet());
+        this.cancellationToken = new CancellationToken();
+        this.workers = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    /**
+     * Performs the work of a single worker, returning once {@code cancellationToken} has been cancelled.
+     *
+     * @param cancellationToken the token which is cancelled when the service is stopping
+     * @throws Exception if the worker fails
+     */
+    protected abstract void execute(@NotNull CancellationToken cancellationToken) throws Exception;
+
+    @Override
+    public synchronized @NotNull CompletableFuture<Void> startAsync() {
+        Preconditions.checkState(executorService == null, "%s has already been started", getClass().getName());
+
+        executorService = hostExecutors.getExecutor(executorName, concurrency);
+
+        CancellationToken cancellationToken = this.cancellationToken;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrency];
+        for (int index = 0; index < concurrency; index++) {
+            futures[index] = CompletableFuture.runAsync(() -> executeWorker(cancellationToken), executorService);
+        }
+
+        completion = CompletableFuture.allOf(futures);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized @NotNull CompletableFuture<Void> stopAsync() {
+        if (executorService == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        cancellationToken.cancel();
+        cancellationToken = new CancellationToken();
+        executorService = null;
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        completion.whenComplete((result, throwable) -> {
+            if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                future.completeExceptionally(throwable.getCause());
+            } else if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(null);
+            }
+        });
+
+        // The host cancels the future once the shutdown timeout elapses, the executor is shared so only the workers
+        // are interrupted.
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                synchronized (workers) {
+                    for (Thread worker : workers) {
+                        worker.interrupt();
+                    }
+                }
+            }
+        });
+
+        return future;
+    }
+
+    public @Range(from = 1, to = Integer.MAX_VALUE) int getConcurrency() {
+        return concurrency;
+    }
+
+    private void executeWorker(@NotNull CancellationToken cancellationToken) {
+        Thread thread = Thread.currentThread();
+        workers.add(thread);
+        try {
+            execute(cancellationToken);
+        } catch (Exception ex) {
+            if (!cancellationToken.isCancellationRequested() || !(ex instanceof InterruptedException)) {
+                logger.error("Encountered an error while executing {}", getClass().getName(), ex);
+            }
+
+            throw new IllegalStateException(String.format("%s worker failed", getClass().getName()), ex);
+        } finally {
+            workers.remove(thread);
+        }
+    }
+}
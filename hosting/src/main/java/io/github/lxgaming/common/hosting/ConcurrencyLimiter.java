@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Limits how much work runs concurrently, rejecting work beyond the limit instead of queueing it.
+ *
+ * @see HostServiceCollection#addConcurrencyLimiter()
+ */
+public interface ConcurrencyLimiter {
+
+    /**
+     * Attempts to acquire a {@link Permit} without blocking.
+     *
+     * @return the {@link Permit} or {@code null} if the limit has been reached and the work should be rejected
+     */
+    @Nullable Permit tryAcquire();
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return the limit
+     */
+    int getLimit();
+
+    /**
+     * Gets the number of {@link Permit}s which have been acquired and not yet completed.
+     *
+     * @return the number of permits in flight
+     */
+    int getInFlight();
+
+    /**
+     * Gets the number of times {@link #tryAcquire()} rejected work.
+     *
+     * @return the number of rejections
+     */
+    long getRejectedCount();
+
+    /**
+     * A permit to run one unit of work, exactly one of the completion methods must be called once the work is done.
+     */
+    interface Permit {
+
+        /**
+         * Completes the work successfully, its latency is used to adjust the limit.
+         */
+        void onSuccess();
+
+        /**
+         * Completes work which was dropped or timed out due to overload, which reduces the limit.
+         */
+        void onDropped();
+
+        /**
+         * Completes work whose latency should not be used to adjust the limit, such as work which failed early.
+         */
+        void onIgnore();
+    }
+}
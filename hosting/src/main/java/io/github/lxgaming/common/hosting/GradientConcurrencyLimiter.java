@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ConcurrencyLimiter} which adjusts its limit from the gradient between long-term and recent latency.
+ * <p>
+ * Acquiring and completing a {@link Permit} only updates atomic counters. Latencies are aggregated into windows of
+ * at least {@value #WINDOW_SAMPLES} samples and {@code 100ms}. When a window closes, one thread recomputes the limit as
+ * {@code limit * min(1, tolerance * longLatency / shortLatency) + sqrt(limit)}, smoothed and clamped to the minimum and
+ * maximum limit:
+ * <ul>
+ *     <li>The short latency is the mean latency of the window.</li>
+ *     <li>The long latency is a slow moving average of previous windows.</li>
+ *     <li>A window containing dropped work multiplies the limit by {@value #BACKOFF_RATIO} instead.</li>
+ *     <li>The limit does not grow while less than half of it is in use.</li>
+ * </ul>
+ */
+public class GradientConcurrencyLimiter implements ConcurrencyLimiter {
+
+    protected static final int WINDOW_SAMPLES = 10;
+    protected static final long WINDOW_DURATION = TimeUnit.MILLISECONDS.toNanos(100L);
+    protected static final int LONG_WINDOW = 600;
+    protected static final double TOLERANCE = 1.5D;
+    protected static final double SMOOTHING = 0.2D;
+    protected static final double BACKOFF_RATIO = 0.9D;
+
+    protected final int minLimit;
+    protected final int maxLimit;
+    protected final AtomicInteger inFlight;
+    protected final LongAdder rejectedCount;
+    protected final LongAdder sampleCount;
+    protected final LongAdder sampleTotal;
+    protected final AtomicInteger maxInFlight;
+    protected final AtomicBoolean dropped;
+    protected final AtomicBoolean updating;
+    protected volatile int limit;
+    protected volatile long windowEnd;
+    protected double estimatedLimit;
+    protected double longLatency;
+
+    public GradientConcurrencyLimiter() {
+        this(20, 1, 1000);
+    }
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        checkLimits(initialLimit, minLimit, maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.inFlight = new AtomicInteger();
+        this.rejectedCount = new LongAdder();
+        this.sampleCount = new LongAdder();
+        this.sampleTotal = new LongAdder();
+        this.maxInFlight = new AtomicInteger();
+        this.dropped = new AtomicBoolean();
+        this.updating = new AtomicBoolean();
+        this.limit = initialLimit;
+        this.windowEnd = nanoTime() + WINDOW_DURATION;
+        this.estimatedLimit = initialLimit;
+    }
+
+    @Override
+    public @Nullable Permit tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        if (current + 1 > maxInFlight.get()) {
+            maxInFlight.accumulateAndGet(current + 1, Math::max);
+        }
+
+        return new PermitImpl(this, nanoTime());
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    protected void complete(long startTime, boolean success, boolean drop) {
+        inFlight.decrementAndGet();
+        long endTime = nanoTime();
+        if (success) {
+            sampleCount.increment();
+            sampleTotal.add(endTime - startTime);
+        } else if (drop) {
+            dropped.set(true);
+        }
+
+        if (endTime - windowEnd >= 0L && (dropped.get() || sampleCount.sum() >= WINDOW_SAMPLES)
+            && updating.compareAndSet(false, true)) {
+            try {
+                updateLimit(endTime);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    protected void updateLimit(long time) {
+        long count = sampleCount.sumThenReset();
+        long total = sampleTotal.sumThenReset();
+        int maxInFlight = this.maxInFlight.getAndSet(inFlight.get());
+        boolean dropped = this.dropped.getAndSet(false);
+        windowEnd = time + WINDOW_DURATION;
+
+        double newLimit;
+        if (dropped) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else {
+            double shortLatency = Math.max((double) total / count, 1.0D);
+            if (longLatency == 0.0D) {
+                longLatency = shortLatency;
+            } else {
+                longLatency += (shortLatency - longLatency) / LONG_WINDOW;
+
+                // Recover quickly once latency has dropped well below the long-term average.
+                if (longLatency / shortLatency > 2.0D) {
+                    longLatency *= 0.95D;
+                }
+            }
+
+            double gradient = Math.max(0.5D, Math.min(1.0D, TOLERANCE * longLatency / shortLatency));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            if (maxInFlight < estimatedLimit / 2) {
+                newLimit = Math.min(newLimit, estimatedLimit);
+            }
+
+            newLimit = estimatedLimit * (1.0D - SMOOTHING) + newLimit * SMOOTHING;
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    protected static void checkLimits(int initialLimit, int minLimit, int maxLimit) {
+        Preconditions.checkArgument(minLimit >= 1 && minLimit <= initialLimit && initialLimit <= maxLimit,
+            "Limits must satisfy 1 <= minimum (%s) <= initial (%s) <= maximum (%s)", minLimit, initialLimit, maxLimit);
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    protected static final class PermitImpl implements Permit {
+
+        private static final AtomicIntegerFieldUpdater<PermitImpl> COMPLETED = AtomicIntegerFieldUpdater.newUpdater(PermitImpl.class, "completed");
+
+        private final GradientConcurrencyLimiter limiter;
+        private final long startTime;
+        private volatile int completed;
+
+        protected PermitImpl(@NotNull GradientConcurrencyLimiter limiter, long startTime) {
+            this.limiter = limiter;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void onSuccess() {
+            complete(true, false);
+        }
+
+        @Override
+        public void onDropped() {
+            complete(false, true);
+        }
+
+        @Override
+        public void onIgnore() {
+            complete(false, false);
+        }
+
+        private void complete(boolean success, boolean drop) {
+            if (!COMPLETED.compareAndSet(this, 0, 1)) {
+                throw new IllegalStateException("Permit has already been completed");
+            }
+
+            limiter.complete(startTime, success, drop);
+        }
+    }
+}
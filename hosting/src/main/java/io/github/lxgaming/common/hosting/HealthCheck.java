@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+/**
+ * Reports the health of a service, hosted services implementing this interface and services registered as
+ * {@link HealthCheck} are aggregated by {@link HostHealth}.
+ * <p>
+ * Implementations are polled periodically and should return quickly without blocking.
+ */
+public interface HealthCheck {
+
+    /**
+     * Whether the service is ready to receive traffic.
+     *
+     * @return {@code true} if the service is ready, otherwise {@code false}
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    /**
+     * Whether the service is functioning, a service which is not live should be restarted.
+     *
+     * @return {@code true} if the service is live, otherwise {@code false}
+     */
+    default boolean isLive() {
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.lxgaming.common.concurrent.BasicThreadFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Exposes {@link HostHealth} over HTTP, {@code /health/ready} and {@code /health/live} respond with {@code 200}
+ * when healthy and {@code 503} otherwise.
+ *
+ * @see HostServiceCollection#addHealthProbe(InetSocketAddress)
+ */
+public class HealthProbeService implements HostedService {
+
+    protected final HostHealth hostHealth;
+    protected final InetSocketAddress address;
+    protected HttpServer httpServer;
+    protected ExecutorService executorService;
+
+    public HealthProbeService(@NotNull HostHealth hostHealth, @NotNull InetSocketAddress address) {
+        this.hostHealth = hostHealth;
+        this.address = address;
+    }
+
+    @Override
+    public void start() {
+        try {
+            httpServer = HttpServer.create(address, 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failed to bind health probe to %s", address), ex);
+        }
+
+        executorService = Executors.newSingleThreadExecutor(BasicThreadFactory.builder()
+            .daemon(true)
+            .format("Health Probe Thread #%d")
+            .build());
+
+        httpServer.setExecutor(executorService);
+        httpServer.createContext("/health/ready", exchange -> respond(exchange, hostHealth::isReady));
+        httpServer.createContext("/health/live", exchange -> respond(exchange, hostHealth::isLive));
+        httpServer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    /**
+     * Gets the address the probe is bound to, which differs from the configured address when binding to port 0.
+     *
+     * @return the bound address or {@code null} if the probe has not started
+     */
+    public @Nullable InetSocketAddress getAddress() {
+        return httpServer != null ? httpServer.getAddress() : null;
+    }
+
+    protected void respond(@NotNull HttpExchange exchange, @NotNull BooleanSupplier supplier) throws IOException {
+        try {
+            boolean healthy = supplier.getAsBoolean();
+            byte[] bytes = (healthy ? "Healthy" : "Unhealthy").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(healthy ? 200 : 503, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -20,6 +20,8 @@
 import org.jetbrains.annotations.Blocking;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Supplier;
+
 public interface Host extends AutoCloseable {
 
     /**
@@ -31,6 +33,16 @@ public interface Host extends AutoCloseable {
         return new HostBuilderImpl();
     }
 
+    /**
+     * Initializes a new {@link RestartableHost} which builds each {@link Host} from a new {@link HostBuilder}.
+     *
+     * @param hostBuilderSupplier the {@link Supplier} of configured {@link HostBuilder}s
+     * @return The initialized {@link RestartableHost}
+     */
+    static @NotNull RestartableHost createRestartable(@NotNull Supplier<@NotNull HostBuilder> hostBuilderSupplier) {
+        return new RestartableHost(hostBuilderSupplier);
+    }
+
     /**
      * Start the host.
      */
@@ -16,6 +16,7 @@
 
 package io.github.lxgaming.common.hosting;
 
+import io.github.lxgaming.common.hosting.configuration.ConfigurationBuilder;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.Consumer;
@@ -29,6 +30,16 @@ public interface HostBuilder {
      */
     @NotNull Host build();
 
+    /**
+     * Creates a {@link HostTemplate} which creates {@link Host}s sharing the registrations of this
+     * {@link HostBuilder}.
+     * <p>
+     * The services of this {@link HostBuilder} are frozen, subsequent calls return the same {@link HostTemplate}.
+     *
+     * @return the {@link HostTemplate}
+     */
+    @NotNull HostTemplate buildTemplate();
+
     /**
      * Configure the {@link Host} environment.
      *
@@ -44,4 +55,16 @@ public interface HostBuilder {
      * @return this {@link HostBuilder} for chaining
      */
     @NotNull HostBuilder configureServices(@NotNull Consumer<@NotNull HostServiceCollection> consumer);
-}
\ No newline at end of file
+
+    /**
+     * Configure the {@link Host} configuration.
+     * <p>
+     * Sources added here take precedence over {@code application.properties} and
+     * {@code application.<environment>.properties} under the content root, environment variables and system
+     * properties, which are always loaded in that order.
+     *
+     * @param consumer the {@link Consumer} for configuring the {@link ConfigurationBuilder}
+     * @return this {@link HostBuilder} for chaining
+     */
+    @NotNull HostBuilder configureConfiguration(@NotNull Consumer<@NotNull ConfigurationBuilder> consumer);
+}
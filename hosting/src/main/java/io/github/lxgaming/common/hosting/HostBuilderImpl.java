@@ -16,26 +16,69 @@
 
 package io.github.lxgaming.common.hosting;
 
+import io.github.lxgaming.common.hosting.configuration.Configuration;
+import io.github.lxgaming.common.hosting.configuration.ConfigurationBuilder;
+import io.github.lxgaming.common.hosting.configuration.ConfigurationWatcher;
+import io.github.lxgaming.common.inject.ServiceDescriptor;
+import io.github.lxgaming.common.inject.ServiceLifetime;
+import io.github.lxgaming.common.inject.ServiceProvider;
 import io.github.lxgaming.common.inject.ServiceProviderImpl;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.function.Consumer;
 
 public class HostBuilderImpl implements HostBuilder {
 
     protected final HostEnvironmentImpl hostEnvironment;
     protected final HostServiceCollection serviceCollection;
+    protected final ConfigurationBuilder configurationBuilder;
+    protected HostTemplate hostTemplate;
 
     public HostBuilderImpl() {
         hostEnvironment = new HostEnvironmentImpl();
         serviceCollection = new HostServiceCollection();
+        configurationBuilder = new ConfigurationBuilder();
     }
 
     @Override
     public @NotNull Host build() {
-        serviceCollection.addSingleton(HostEnvironment.class, hostEnvironment);
-        ServiceProviderImpl serviceProvider = serviceCollection.buildServiceProvider();
-        return new HostImpl(hostEnvironment, serviceProvider);
+        return buildTemplate().build();
+    }
+
+    @Override
+    public synchronized @NotNull HostTemplate buildTemplate() {
+        if (hostTemplate != null) {
+            return hostTemplate;
+        }
+
+        // Each host gets its own copy of the environment, created by its own provider.
+        HostEnvironmentImpl templateEnvironment = new HostEnvironmentImpl(hostEnvironment);
+        serviceCollection.addSingleton(HostEnvironment.class, serviceProvider -> new HostEnvironmentImpl(templateEnvironment));
+        ConfigurationBuilder layeredConfigurationBuilder = createConfigurationBuilder();
+        serviceCollection.addSingleton(Configuration.class, layeredConfigurationBuilder.build());
+        if (templateEnvironment.getConfigurationReloadDelay() != 0) {
+            Map<Class<?>, String> configurationSections = serviceCollection.getConfigurationSections();
+            long reloadDelay = templateEnvironment.getConfigurationReloadDelay();
+
+            serviceCollection.addSingleton(ConfigurationWatcher.class, serviceProvider -> new ConfigurationWatcher(
+                getRootProvider(serviceProvider), layeredConfigurationBuilder, configurationSections, reloadDelay));
+            serviceCollection.add(new ServiceDescriptor(HostedService.class, ConfigurationWatcher.class, ServiceLifetime.SINGLETON,
+                serviceProvider -> serviceProvider.getRequiredService(ConfigurationWatcher.class)));
+        }
+
+        serviceCollection.addSingleton(HostMetrics.class, serviceProvider -> getHostEnvironment(serviceProvider).getHostMetrics());
+        serviceCollection.addSingleton(HostHealth.class, serviceProvider -> getHostEnvironment(serviceProvider).getHostHealth());
+        serviceCollection.addSingleton(InFlightTracker.class, serviceProvider -> getHostEnvironment(serviceProvider).getInFlightTracker());
+        serviceCollection.addSingleton(HostExecutors.class, serviceProvider -> getHostEnvironment(serviceProvider).getHostExecutors());
+        return this.hostTemplate = new HostTemplate(serviceCollection);
+    }
+
+    @Override
+    public @NotNull HostBuilder configureConfiguration(@NotNull Consumer<@NotNull ConfigurationBuilder> consumer) {
+        consumer.accept(configurationBuilder);
+        return this;
     }
 
     @Override
@@ -49,4 +92,34 @@ public HostBuilderImpl() {
         consumer.accept(serviceCollection);
         return this;
     }
-}
\ No newline at end of file
+
+    protected @NotNull ConfigurationBuilder createConfigurationBuilder() {
+        Path contentRootPath = hostEnvironment.getContentRootPath();
+        return new ConfigurationBuilder()
+            .addProperties(contentRootPath.resolve("application.properties"))
+            .addProperties(contentRootPath.resolve(String.format("application.%s.properties", hostEnvironment.getEnvironmentName())))
+            .addEnvironmentVariables()
+            .addSystemProperties()
+            .addSources(configurationBuilder);
+    }
+
+    protected static @NotNull HostEnvironmentImpl getHostEnvironment(@NotNull ServiceProvider serviceProvider) {
+        return (HostEnvironmentImpl) serviceProvider.getRequiredService(HostEnvironment.class);
+    }
+
+    /**
+     * Gets the {@link ServiceProviderImpl} passed to a singleton factory, singletons are always created by the root
+     * provider.
+     *
+     * @param serviceProvider the {@link ServiceProvider} passed to the factory
+     * @return the root {@link ServiceProviderImpl}
+     * @throws IllegalStateException if {@code serviceProvider} is not a {@link ServiceProviderImpl}
+     */
+    static @NotNull ServiceProviderImpl getRootProvider(@NotNull ServiceProvider serviceProvider) throws IllegalStateException {
+        if (!(serviceProvider instanceof ServiceProviderImpl)) {
+            throw new IllegalStateException(String.format("%s is not a %s", serviceProvider.getClass().getName(), ServiceProviderImpl.class.getSimpleName()));
+        }
+
+        return (ServiceProviderImpl) serviceProvider;
+    }
+}
@@ -30,6 +30,16 @@ public interface HostEnvironment {
      */
     void addStartingHook(@NotNull Runnable runnable);
 
+    /**
+     * Adds a hook which will be executed when the host is starting, recorded in {@link HostMetrics} under {@code name}.
+     *
+     * @param name     the name
+     * @param runnable the runnable
+     */
+    default void addStartingHook(@NotNull String name, @NotNull Runnable runnable) {
+        addStartingHook(new NamedHook(name, runnable));
+    }
+
     /**
      * Adds a hook which will be executed when the host has started.
      *
@@ -37,6 +47,16 @@ public interface HostEnvironment {
      */
     void addStartedHook(@NotNull Runnable runnable);
 
+    /**
+     * Adds a hook which will be executed when the host has started, recorded in {@link HostMetrics} under {@code name}.
+     *
+     * @param name     the name
+     * @param runnable the runnable
+     */
+    default void addStartedHook(@NotNull String name, @NotNull Runnable runnable) {
+        addStartedHook(new NamedHook(name, runnable));
+    }
+
     /**
      * Adds a hook which will be executed when the host is stopping.
      *
@@ -44,6 +64,16 @@ public interface HostEnvironment {
      */
     void addStoppingHook(@NotNull Runnable runnable);
 
+    /**
+     * Adds a hook which will be executed when the host is stopping, recorded in {@link HostMetrics} under {@code name}.
+     *
+     * @param name     the name
+     * @param runnable the runnable
+     */
+    default void addStoppingHook(@NotNull String name, @NotNull Runnable runnable) {
+        addStoppingHook(new NamedHook(name, runnable));
+    }
+
     /**
      * Adds a hook which will be executed when the host has stopped.
      *
@@ -51,6 +81,16 @@ public interface HostEnvironment {
      */
     void addStoppedHook(@NotNull Runnable runnable);
 
+    /**
+     * Adds a hook which will be executed when the host has stopped, recorded in {@link HostMetrics} under {@code name}.
+     *
+     * @param name     the name
+     * @param runnable the runnable
+     */
+    default void addStoppedHook(@NotNull String name, @NotNull Runnable runnable) {
+        addStoppedHook(new NamedHook(name, runnable));
+    }
+
     /**
      * Requests termination of the host.
      */
@@ -122,7 +162,8 @@ default boolean isEnvironment(@NotNull String environmentName) {
     void setContentRootPath(@NotNull Path contentRootPath);
 
     /**
-     * The configured shutdown timeout.
+     * The configured shutdown timeout, hosted services which have not stopped within this time are abandoned.
+     * A value of {@code 0} waits indefinitely.
      *
      * @return the shutdown timeout in milliseconds
      */
@@ -135,4 +176,56 @@ default boolean isEnvironment(@NotNull String environmentName) {
      * @param shutdownTimeout the shutdown timeout in milliseconds
      */
     void setShutdownTimeout(@Range(from = 0, to = Long.MAX_VALUE) long shutdownTimeout);
-}
\ No newline at end of file
+
+    /**
+     * The configured number of hosted services which can be started or stopped concurrently.
+     *
+     * @return the hosted service parallelism
+     */
+    @Range(from = 1, to = Integer.MAX_VALUE)
+    int getHostedServiceParallelism();
+
+    /**
+     * Configure the number of hosted services which can be started or stopped concurrently.
+     * <p>
+     * Hosted services are started once every hosted service they depend on has started, and are stopped
+     * in the reverse order. A value of {@code 1} starts and stops hosted services sequentially in
+     * registration order.
+     *
+     * @param hostedServiceParallelism the hosted service parallelism
+     */
+    void setHostedServiceParallelism(@Range(from = 1, to = Integer.MAX_VALUE) int hostedServiceParallelism);
+
+    /**
+     * The configured configuration reload delay.
+     *
+     * @return the configuration reload delay in milliseconds
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    long getConfigurationReloadDelay();
+
+    /**
+     * Configure the configuration reload delay, configuration files under the content root are watched and
+     * reloaded once they have not changed for this delay. A value of {@code 0} disables reloading.
+     *
+     * @param configurationReloadDelay the configuration reload delay in milliseconds
+     */
+    void setConfigurationReloadDelay(@Range(from = 0, to = Long.MAX_VALUE) long configurationReloadDelay);
+
+    /**
+     * The configured warm-up profile duration.
+     *
+     * @return the warm-up profile duration in milliseconds
+     */
+    @Range(from = 0, to = Long.MAX_VALUE)
+    long getWarmupProfileDuration();
+
+    /**
+     * Configure the warm-up profile duration, singleton services created within this time of the host starting are
+     * recorded to {@code warmup.profile} under the content root and resolved alongside the hosted services starting
+     * on the next run. A value of {@code 0} disables the warm-up profile.
+     *
+     * @param warmupProfileDuration the warm-up profile duration in milliseconds
+     */
+    void setWarmupProfileDuration(@Range(from = 0, to = Long.MAX_VALUE) long warmupProfileDuration);
+}
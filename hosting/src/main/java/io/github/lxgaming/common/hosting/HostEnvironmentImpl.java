@@ -17,6 +17,7 @@
 package io.github.lxgaming.common.hosting;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,10 @@
 public class HostEnvironmentImpl implements HostEnvironment {
 
     protected final Logger logger;
+    protected final HostMetricsImpl hostMetrics;
+    protected final HostHealthImpl hostHealth;
+    protected final InFlightTrackerImpl inFlightTracker;
+    protected final HostExecutorsImpl hostExecutors;
     protected List<Runnable> startingHooks;
     protected List<Runnable> startedHooks;
     protected List<Runnable> stoppingHooks;
@@ -36,11 +41,38 @@ public class HostEnvironmentImpl implements HostEnvironment {
     protected String environmentName;
     protected Path contentRootPath;
     protected long shutdownTimeout;
+    protected int hostedServiceParallelism;
+    protected long configurationReloadDelay;
+    protected long warmupProfileDuration;
 
     public HostEnvironmentImpl() {
         this.logger = LoggerFactory.getLogger(getClass());
+        this.hostMetrics = new HostMetricsImpl();
+        this.hostHealth = new HostHealthImpl();
+        this.inFlightTracker = new InFlightTrackerImpl();
+        this.hostExecutors = new HostExecutorsImpl();
         this.environmentName = "Development";
         this.contentRootPath = Paths.get(System.getProperty("user.dir", ".")).toAbsolutePath().normalize();
+        this.hostedServiceParallelism = 1;
+    }
+
+    /**
+     * Creates a copy of {@code hostEnvironment} with its own hooks, metrics, health, in-flight tracker and executors.
+     *
+     * @param hostEnvironment the {@link HostEnvironmentImpl} to copy
+     */
+    public HostEnvironmentImpl(@NotNull HostEnvironmentImpl hostEnvironment) {
+        this();
+        this.startingHooks = copyHooks(hostEnvironment.startingHooks);
+        this.startedHooks = copyHooks(hostEnvironment.startedHooks);
+        this.stoppingHooks = copyHooks(hostEnvironment.stoppingHooks);
+        this.stoppedHooks = copyHooks(hostEnvironment.stoppedHooks);
+        this.environmentName = hostEnvironment.environmentName;
+        this.contentRootPath = hostEnvironment.contentRootPath;
+        this.shutdownTimeout = hostEnvironment.shutdownTimeout;
+        this.hostedServiceParallelism = hostEnvironment.hostedServiceParallelism;
+        this.configurationReloadDelay = hostEnvironment.configurationReloadDelay;
+        this.warmupProfileDuration = hostEnvironment.warmupProfileDuration;
     }
 
     @Override
@@ -53,17 +85,7 @@ public void addStartingHook(@NotNull Runnable runnable) {
     }
 
     public void runStartingHooks() {
-        if (startingHooks == null) {
-            return;
-        }
-
-        for (Runnable runnable : startingHooks) {
-            try {
-                runnable.run();
-            } catch (Exception ex) {
-                logger.error("Encountered an error while starting the host", ex);
-            }
-        }
+        runHooks(startingHooks, HostMetrics.Phase.STARTING_HOOK, "Encountered an error while starting the host");
     }
 
     @Override
@@ -76,17 +98,7 @@ public void addStartedHook(@NotNull Runnable runnable) {
     }
 
     public void runStartedHooks() {
-        if (startedHooks == null) {
-            return;
-        }
-
-        for (Runnable runnable : startedHooks) {
-            try {
-                runnable.run();
-            } catch (Exception ex) {
-                logger.error("Encountered an error while starting the host", ex);
-            }
-        }
+        runHooks(startedHooks, HostMetrics.Phase.STARTED_HOOK, "Encountered an error while starting the host");
     }
 
     @Override
@@ -99,17 +111,7 @@ public void addStoppingHook(@NotNull Runnable runnable) {
     }
 
     public void runStoppingHooks() {
-        if (stoppingHooks == null) {
-            return;
-        }
-
-        for (Runnable runnable : stoppingHooks) {
-            try {
-                runnable.run();
-            } catch (Exception ex) {
-                logger.error("Encountered an error while stopping the host", ex);
-            }
-        }
+        runHooks(stoppingHooks, HostMetrics.Phase.STOPPING_HOOK, "Encountered an error while stopping the host");
     }
 
     @Override
@@ -122,17 +124,7 @@ public void addStoppedHook(@NotNull Runnable runnable) {
     }
 
     public void runStoppedHooks() {
-        if (stoppedHooks == null) {
-            return;
-        }
-
-        for (Runnable runnable : stoppedHooks) {
-            try {
-                runnable.run();
-            } catch (Exception ex) {
-                logger.error("Encountered an error while stopping the host", ex);
-            }
-        }
+        runHooks(stoppedHooks, HostMetrics.Phase.STOPPED_HOOK, "Encountered an error while stopping the host");
     }
 
     @Override
@@ -169,4 +161,80 @@ public void setContentRootPath(@NotNull Path contentRootPath) {
     public void setShutdownTimeout(@Range(from = 0, to = Long.MAX_VALUE) long shutdownTimeout) {
         this.shutdownTimeout = shutdownTimeout;
     }
+
+    @Override
+    public @Range(from = 1, to = Integer.MAX_VALUE) int getHostedServiceParallelism() {
+        return hostedServiceParallelism;
+    }
+
+    @Override
+    public void setHostedServiceParallelism(@Range(from = 1, to = Integer.MAX_VALUE) int hostedServiceParallelism) {
+        this.hostedServiceParallelism = hostedServiceParallelism;
+    }
+
+    @Override
+    public @Range(from = 0, to = Long.MAX_VALUE) long getConfigurationReloadDelay() {
+        return configurationReloadDelay;
+    }
+
+    @Override
+    public void setConfigurationReloadDelay(@Range(from = 0, to = Long.MAX_VALUE) long configurationReloadDelay) {
+        this.configurationReloadDelay = configurationReloadDelay;
+    }
+
+    @Override
+    public @Range(from = 0, to = Long.MAX_VALUE) long getWarmupProfileDuration() {
+        return warmupProfileDuration;
+    }
+
+    @Override
+    public void setWarmupProfileDuration(@Range(from = 0, to = Long.MAX_VALUE) long warmupProfileDuration) {
+        this.warmupProfileDuration = warmupProfileDuration;
+    }
+
+    public @NotNull HostMetricsImpl getHostMetrics() {
+        return hostMetrics;
+    }
+
+    public @NotNull HostHealthImpl getHostHealth() {
+        return hostHealth;
+    }
+
+    public @NotNull InFlightTrackerImpl getInFlightTracker() {
+        return inFlightTracker;
+    }
+
+    public @NotNull HostExecutorsImpl getHostExecutors() {
+        return hostExecutors;
+    }
+
+    protected @Nullable List<Runnable> copyHooks(@Nullable List<Runnable> hooks) {
+        return hooks != null ? new ArrayList<>(hooks) : null;
+    }
+
+    protected void runHooks(@Nullable List<Runnable> hooks, @NotNull HostMetrics.Phase phase, @NotNull String message) {
+        if (hooks == null) {
+            return;
+        }
+
+        for (int index = 0; index < hooks.size(); index++) {
+            Runnable runnable = hooks.get(index);
+            // Lambda class names are generated, so unnamed hooks are identified by their position instead.
+            String name = runnable instanceof NamedHook
+                ? ((NamedHook) runnable).getName()
+                : String.format("%s #%d", phase.getName(), index + 1);
+
+            long startTime = System.nanoTime();
+            Object event = HostEvents.beginPhase();
+            try {
+                runnable.run();
+                hostMetrics.record(phase, name, startTime, null);
+                HostEvents.endPhase(event, phase, name, null);
+            } catch (Exception ex) {
+                hostMetrics.record(phase, name, startTime, ex);
+                HostEvents.endPhase(event, phase, name, ex);
+                logger.error(message, ex);
+            }
+        }
+    }
 }
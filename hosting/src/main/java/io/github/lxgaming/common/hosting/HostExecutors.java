@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Shared executors owned by the host, available from the service provider.
+ * <p>
+ * Executors are created on first use and shut down by the host once every hosted service has stopped, services
+ * must not shut them down themselves. Executors are created again if the host is restarted, so services should
+ * obtain them when they start rather than keeping them across restarts.
+ */
+public interface HostExecutors {
+
+    String CPU = "CPU";
+    String IO = "IO";
+    String SCHEDULED = "Scheduled";
+
+    /**
+     * Gets the executor for CPU-bound work, sized to the number of available processors.
+     *
+     * @return the CPU {@link ExecutorService}
+     */
+    @NotNull ExecutorService getCpuExecutor();
+
+    /**
+     * Gets the executor for blocking I/O, bounded to a multiple of the number of available processors.
+     *
+     * @return the I/O {@link ExecutorService}
+     */
+    @NotNull ExecutorService getIoExecutor();
+
+    /**
+     * Gets the executor for scheduled work, scheduled tasks should hand long-running work to another executor.
+     *
+     * @return the {@link ScheduledExecutorService}
+     */
+    @NotNull ScheduledExecutorService getScheduledExecutor();
+
+    /**
+     * Gets the executor named {@code name}, creating it with {@code threads} threads if it does not exist.
+     *
+     * @param name    the name
+     * @param threads the number of threads, ignored if the executor already exists
+     * @return the {@link ExecutorService}
+     * @throws IllegalStateException if the executors have been shut down
+     */
+    @NotNull ExecutorService getExecutor(@NotNull String name, @Range(from = 1, to = Integer.MAX_VALUE) int threads);
+
+    /**
+     * Gets every executor which has been created.
+     *
+     * @return the {@link InstrumentedExecutor}s
+     */
+    @NotNull Collection<InstrumentedExecutor> getExecutors();
+}
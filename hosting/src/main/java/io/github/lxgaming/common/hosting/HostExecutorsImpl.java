@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class HostExecutorsImpl implements HostExecutors {
+
+    protected final Logger logger;
+    protected final Map<String, InstrumentedExecutor> executors;
+    protected final int processors;
+    protected volatile boolean shutdown;
+
+    public HostExecutorsImpl() {
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.executors = new ConcurrentHashMap<>();
+        this.processors = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public @NotNull ExecutorService getCpuExecutor() {
+        return getExecutor(CPU, processors);
+    }
+
+    @Override
+    public @NotNull ExecutorService getIoExecutor() {
+        return getExecutor(IO, Math.max(processors * 8, 16));
+    }
+
+    @Override
+    public @NotNull ScheduledExecutorService getScheduledExecutor() {
+        return (ScheduledExecutorService) getExecutor(SCHEDULED, () -> new InstrumentedScheduledExecutor(SCHEDULED, Math.max(processors / 4, 1)));
+    }
+
+    @Override
+    public @NotNull ExecutorService getExecutor(@NotNull String name, @Range(from = 1, to = Integer.MAX_VALUE) int threads) {
+        Preconditions.checkArgument(threads >= 1, "threads must be at least 1");
+        return getExecutor(name, () -> new InstrumentedThreadPoolExecutor(name, threads));
+    }
+
+    @Override
+    public @NotNull Collection<InstrumentedExecutor> getExecutors() {
+        return new ArrayList<>(executors.values());
+    }
+
+    /**
+     * Gets a read-only view of the executors which have been created, for iterating without copying.
+     *
+     * @return the {@link InstrumentedExecutor}s
+     */
+    @NotNull Collection<InstrumentedExecutor> getExecutorsView() {
+        return Collections.unmodifiableCollection(executors.values());
+    }
+
+    /**
+     * Shuts down every executor and waits for their tasks to complete, executors which have not terminated by
+     * {@code deadline} are shut down forcefully.
+     *
+     * @param deadline the {@link System#nanoTime()} to wait until, {@code null} to wait indefinitely
+     * @return {@code true} if every executor terminated, otherwise {@code false}
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean shutdown(@Nullable Long deadline) throws InterruptedException {
+        List<InstrumentedExecutor> executors;
+        synchronized (this) {
+            shutdown = true;
+            executors = new ArrayList<>(this.executors.values());
+        }
+
+        for (InstrumentedExecutor executor : executors) {
+            executor.shutdown();
+        }
+
+        boolean terminated = true;
+        for (InstrumentedExecutor executor : executors) {
+            if (deadline != null) {
+                if (executor.awaitTermination(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS)) {
+                    continue;
+                }
+            } else {
+                while (!executor.awaitTermination(1L, TimeUnit.MINUTES)) {
+                    logger.debug("Waiting for {} executor to terminate", executor.getName());
+                }
+
+                continue;
+            }
+
+            logger.warn("{} executor did not terminate, {} tasks were abandoned", executor.getName(), executor.shutdownNow().size());
+            terminated = false;
+        }
+
+        return terminated;
+    }
+
+    /**
+     * Discards the executors after {@link #shutdown(Long)} so they are created again on first use, allowing the host
+     * to be started again after it has stopped. Executors obtained before the reset remain shut down.
+     */
+    public synchronized void reset() {
+        if (shutdown) {
+            executors.clear();
+            shutdown = false;
+        }
+    }
+
+    protected @NotNull ExecutorService getExecutor(@NotNull String name, @NotNull Supplier<InstrumentedExecutor> supplier) {
+        InstrumentedExecutor executor = executors.get(name);
+        if (executor != null) {
+            return executor;
+        }
+
+        synchronized (this) {
+            Preconditions.checkState(!shutdown, "Executors have been shut down");
+            return executors.computeIfAbsent(name, key -> supplier.get());
+        }
+    }
+}
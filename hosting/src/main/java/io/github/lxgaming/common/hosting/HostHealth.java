@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The aggregated health of the host and its {@link HealthCheck}s, available from the service provider.
+ * <p>
+ * Reads are served from a cached snapshot which is refreshed at most once per cache duration.
+ */
+public interface HostHealth {
+
+    /**
+     * Whether the host has started and every {@link HealthCheck} is ready.
+     *
+     * @return {@code true} if the host is ready, otherwise {@code false}
+     */
+    boolean isReady();
+
+    /**
+     * Whether every {@link HealthCheck} is live.
+     *
+     * @return {@code true} if the host is live, otherwise {@code false}
+     */
+    boolean isLive();
+
+    /**
+     * Gets the class names of the {@link HealthCheck}s which were not ready or not live in the current snapshot.
+     *
+     * @return the class names
+     */
+    @NotNull List<String> getUnhealthyChecks();
+}
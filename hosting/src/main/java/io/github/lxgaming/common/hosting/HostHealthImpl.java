@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class HostHealthImpl implements HostHealth {
+
+    protected final Logger logger;
+    protected final AtomicBoolean refreshing;
+    protected volatile List<HealthCheck> healthChecks;
+    protected volatile boolean started;
+    protected volatile long cacheDuration;
+    protected volatile Snapshot snapshot;
+
+    public HostHealthImpl() {
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.refreshing = new AtomicBoolean();
+        this.healthChecks = Collections.emptyList();
+        this.cacheDuration = TimeUnit.SECONDS.toNanos(1L);
+        this.snapshot = new Snapshot(false, true, Collections.emptyList(), System.nanoTime());
+    }
+
+    @Override
+    public boolean isReady() {
+        return getSnapshot().ready;
+    }
+
+    @Override
+    public boolean isLive() {
+        return getSnapshot().live;
+    }
+
+    @Override
+    public @NotNull List<String> getUnhealthyChecks() {
+        return getSnapshot().unhealthyChecks;
+    }
+
+    /**
+     * Marks the host as started with {@code healthChecks}, or as stopping, and refreshes the snapshot.
+     *
+     * @param started      {@code true} once the host has started, {@code false} once it begins stopping
+     * @param healthChecks the {@link HealthCheck}s to aggregate
+     */
+    public void setStarted(boolean started, @NotNull List<HealthCheck> healthChecks) {
+        this.healthChecks = Collections.unmodifiableList(new ArrayList<>(healthChecks));
+        this.started = started;
+        this.snapshot = createSnapshot();
+    }
+
+    /**
+     * Configure how long a snapshot is served before the {@link HealthCheck}s are polled again.
+     *
+     * @param cacheDuration the cache duration
+     * @param unit          the time unit of {@code cacheDuration}
+     */
+    public void setCacheDuration(@Range(from = 0, to = Long.MAX_VALUE) long cacheDuration, @NotNull TimeUnit unit) {
+        this.cacheDuration = unit.toNanos(cacheDuration);
+    }
+
+    /**
+     * Gets the current snapshot, a single caller refreshes an expired snapshot while others are served the
+     * expired one.
+     *
+     * @return the snapshot
+     */
+    protected @NotNull Snapshot getSnapshot() {
+        Snapshot snapshot = this.snapshot;
+        if (System.nanoTime() - snapshot.time < cacheDuration || !refreshing.compareAndSet(false, true)) {
+            return snapshot;
+        }
+
+        try {
+            return this.snapshot = createSnapshot();
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    protected @NotNull Snapshot createSnapshot() {
+        boolean ready = started;
+        boolean live = true;
+        List<String> unhealthyChecks = new ArrayList<>();
+        for (HealthCheck healthCheck : healthChecks) {
+            boolean checkReady;
+            boolean checkLive;
+            try {
+                checkReady = healthCheck.isReady();
+                checkLive = healthCheck.isLive();
+            } catch (Exception ex) {
+                logger.warn("Encountered an error while checking {}", healthCheck.getClass().getName(), ex);
+                checkReady = false;
+                checkLive = false;
+            }
+
+            if (!checkReady || !checkLive) {
+                unhealthyChecks.add(healthCheck.getClass().getName());
+            }
+
+            ready &= checkReady;
+            live &= checkLive;
+        }
+
+        return new Snapshot(ready, live, Collections.unmodifiableList(unhealthyChecks), System.nanoTime());
+    }
+
+    protected static final class Snapshot {
+
+        private final boolean ready;
+        private final boolean live;
+        private final List<String> unhealthyChecks;
+        private final long time;
+
+        private Snapshot(boolean ready, boolean live, @NotNull List<String> unhealthyChecks, long time) {
+            this.ready = ready;
+            this.live = live;
+            this.unhealthyChecks = unhealthyChecks;
+            this.time = time;
+        }
+    }
+}
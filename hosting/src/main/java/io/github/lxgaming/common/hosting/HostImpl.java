@@ -16,67 +16,210 @@
 
 package io.github.lxgaming.common.hosting;
 
+import io.github.lxgaming.common.concurrent.BasicThreadFactory;
+import io.github.lxgaming.common.inject.ServiceDescriptor;
 import io.github.lxgaming.common.inject.ServiceProvider;
 import io.github.lxgaming.common.inject.ServiceProviderImpl;
+import io.github.lxgaming.common.management.MBeans;
 import org.jetbrains.annotations.Blocking;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.ObjectName;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HostImpl implements Host {
 
+    protected static final AtomicInteger IDS = new AtomicInteger();
+
     protected final HostEnvironmentImpl hostEnvironment;
     protected final ServiceProviderImpl serviceProvider;
     protected final Logger logger;
+    protected volatile CompletableFuture<Void> deferredStart;
+    protected final Set<HostedService> startedDeferredServices;
+    protected volatile WarmupProfile warmupProfile;
+    protected volatile String name;
+    protected final List<ObjectName> objectNames;
 
     protected HostImpl(@NotNull HostEnvironmentImpl hostEnvironment, @NotNull ServiceProviderImpl serviceProvider) {
         this.hostEnvironment = hostEnvironment;
         this.serviceProvider = serviceProvider;
         this.logger = LoggerFactory.getLogger(getClass());
+        this.deferredStart = CompletableFuture.completedFuture(null);
+        this.startedDeferredServices = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        this.name = String.format("%s-%d", hostEnvironment.getEnvironmentName(), IDS.incrementAndGet());
+        this.objectNames = new ArrayList<>();
     }
 
     @Override
     public void start() {
         logger.debug("Hosting starting");
 
+        Object event = HostEvents.beginLifecycle();
+        hostEnvironment.getHostExecutors().reset();
+        registerMBeans();
+        hostEnvironment.getHostMetrics().markStarting();
+        hostEnvironment.getInFlightTracker().setAccepting(true);
         hostEnvironment.runStartingHooks();
 
-        List<HostedService> hostedServices = serviceProvider.getServices(HostedService.class);
-        for (HostedService hostedService : hostedServices) {
-            hostedService.start();
+        CompletableFuture<Void> warmup = startWarmup();
+
+        List<List<HostedService>> hostedServiceGroups = getHostedServiceGroups();
+        List<List<HostedService>> groups = new ArrayList<>(hostedServiceGroups.size());
+        List<HostedService> deferredServices = new ArrayList<>();
+        for (List<HostedService> hostedServices : hostedServiceGroups) {
+            List<HostedService> group = new ArrayList<>(hostedServices.size());
+            for (HostedService hostedService : hostedServices) {
+                if (hostedService.getClass().isAnnotationPresent(Deferred.class)) {
+                    deferredServices.add(hostedService);
+                } else {
+                    group.add(hostedService);
+                }
+            }
+
+            if (!group.isEmpty()) {
+                groups.add(group);
+            }
+        }
+
+        List<Throwable> throwables = new ArrayList<>();
+        List<List<HostedService>> startedGroups = new ArrayList<>(groups.size());
+        ExecutorService executorService = createExecutorService(groups, false);
+        try {
+            for (List<HostedService> group : groups) {
+                // The group is tracked before it starts as a failure in one service does not stop the others.
+                startedGroups.add(group);
+                invokeHostedServices(group, true, executorService, null, throwables);
+                if (!throwables.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            if (executorService != null) {
+                executorService.shutdown();
+            }
+        }
+
+        if (!throwables.isEmpty()) {
+            Throwable throwable = throwables.get(0);
+            for (int index = 1; index < throwables.size(); index++) {
+                throwable.addSuppressed(throwables.get(index));
+            }
+
+            rollbackStart(startedGroups, throwable);
+            HostEvents.endLifecycle(event, "Start", true);
+
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            }
+
+            if (throwable instanceof Error) {
+                throw (Error) throwable;
+            }
+
+            throw new IllegalStateException("Encountered an error while starting hosted services", throwable);
         }
 
+        warmup.join();
+
         hostEnvironment.runStartedHooks();
+        hostEnvironment.getHostMetrics().markReady();
+        hostEnvironment.getHostHealth().setStarted(true, getHealthChecks(hostedServiceGroups));
+        HostEvents.endLifecycle(event, "Start", false);
+
+        logger.debug("Hosting started in {}ms", hostEnvironment.getHostMetrics().getTimeToReady().toMillis());
 
-        logger.debug("Hosting started");
+        deferredStart = startDeferredServices(deferredServices);
     }
 
     @Override
     public void stop() throws Exception {
         logger.debug("Hosting stopping");
 
+        Object event = HostEvents.beginLifecycle();
+
+        // The shutdown timeout covers both draining in-flight work and stopping hosted services.
+        long shutdownTimeout = hostEnvironment.getShutdownTimeout();
+        Long deadline = shutdownTimeout != 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeout) : null;
+
+        hostEnvironment.getHostHealth().setStarted(false, Collections.emptyList());
+        hostEnvironment.getInFlightTracker().setAccepting(false);
         hostEnvironment.runStoppingHooks();
 
-        List<HostedService> hostedServices = serviceProvider.getServices(HostedService.class);
-        hostedServices.sort(Collections.reverseOrder());
+        WarmupProfile warmupProfile = this.warmupProfile;
+        if (warmupProfile != null) {
+            warmupProfile.stopRecording(serviceProvider);
+        }
 
-        Exception ex = null;
-        for (HostedService hostedService : hostedServices) {
-            try {
-                hostedService.stop();
-            } catch (Throwable t) {
-                if (ex == null) {
-                    ex = new Exception("Encountered an error while stopping hosted services");
+        try {
+            if (!hostEnvironment.getInFlightTracker().drain(deadline)) {
+                logger.warn("{} units of work did not complete within {}ms", hostEnvironment.getInFlightTracker().getInFlight(), shutdownTimeout);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for in-flight work to complete");
+        }
+
+        awaitDeferredStart(deadline);
+
+        List<List<HostedService>> groups = removeUnstartedDeferredServices(getHostedServiceGroups());
+        Collections.reverse(groups);
+
+        List<Throwable> throwables = new ArrayList<>();
+        // Synchronous services are stopped on the executor whenever there is a timeout so they can be abandoned.
+        ExecutorService executorService = createExecutorService(groups, deadline != null);
+        try {
+            for (List<HostedService> group : groups) {
+                invokeHostedServices(group, false, executorService, deadline, throwables);
+            }
+        } finally {
+            if (executorService != null) {
+                if (containsTimeout(throwables)) {
+                    executorService.shutdownNow();
+                } else {
+                    executorService.shutdown();
                 }
+            }
+        }
 
-                ex.addSuppressed(t);
+        try {
+            if (!hostEnvironment.getHostExecutors().shutdown(deadline)) {
+                throwables.add(new TimeoutException(String.format("Executors did not terminate within %dms", shutdownTimeout)));
             }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throwables.add(ex);
+        }
+
+        Exception ex = null;
+        for (Throwable throwable : throwables) {
+            if (ex == null) {
+                ex = new Exception("Encountered an error while stopping hosted services");
+            }
+
+            ex.addSuppressed(throwable);
         }
 
         hostEnvironment.runStoppedHooks();
+        HostEvents.endLifecycle(event, "Stop", ex != null);
 
         if (ex != null) {
             logger.debug("Hosting shutdown exception", ex);
@@ -86,6 +229,59 @@ public void stop() throws Exception {
         logger.debug("Hosting stopped");
     }
 
+    /**
+     * Undoes a failed {@link #start()}, the {@code startedGroups} are stopped in reverse order within the shutdown
+     * timeout, then the executors are shut down and the MBeans are unregistered so the host can be started again.
+     *
+     * @param startedGroups the groups which were started, including the group which failed
+     * @param throwable     the start failure, failures encountered while undoing the start are added as suppressed
+     */
+    protected void rollbackStart(@NotNull List<List<HostedService>> startedGroups, @NotNull Throwable throwable) {
+        long shutdownTimeout = hostEnvironment.getShutdownTimeout();
+        Long deadline = shutdownTimeout != 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeout) : null;
+
+        hostEnvironment.getInFlightTracker().setAccepting(false);
+
+        WarmupProfile warmupProfile = this.warmupProfile;
+        if (warmupProfile != null) {
+            warmupProfile.stopRecording(serviceProvider);
+        }
+
+        List<List<HostedService>> groups = new ArrayList<>(startedGroups);
+        Collections.reverse(groups);
+
+        List<Throwable> throwables = new ArrayList<>();
+        ExecutorService executorService = createExecutorService(groups, deadline != null);
+        try {
+            for (List<HostedService> group : groups) {
+                invokeHostedServices(group, false, executorService, deadline, throwables);
+            }
+        } finally {
+            if (executorService != null) {
+                if (containsTimeout(throwables)) {
+                    executorService.shutdownNow();
+                } else {
+                    executorService.shutdown();
+                }
+            }
+        }
+
+        try {
+            if (!hostEnvironment.getHostExecutors().shutdown(deadline)) {
+                throwables.add(new TimeoutException(String.format("Executors did not terminate within %dms", shutdownTimeout)));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throwables.add(ex);
+        }
+
+        unregisterMBeans();
+
+        for (Throwable t : throwables) {
+            throwable.addSuppressed(t);
+        }
+    }
+
     @Override
     @Blocking
     public void run() throws Exception {
@@ -147,6 +343,374 @@ public void waitForShutdown() {
 
     @Override
     public void close() throws Exception {
+        unregisterMBeans();
         serviceProvider.close();
     }
-}
\ No newline at end of file
+
+    /**
+     * Registers the {@link HostMXBean} and {@link io.github.lxgaming.common.inject.ServiceProviderMXBean} of this
+     * host with the platform MBean server, they remain registered until the host is closed or fails to start.
+     */
+    protected synchronized void registerMBeans() {
+        if (!objectNames.isEmpty()) {
+            return;
+        }
+
+        try {
+            objectNames.add(MBeans.register(new HostMXBeanImpl(hostEnvironment), "Host", name));
+            objectNames.add(MBeans.register(serviceProvider, "ServiceProvider", name));
+        } catch (Exception ex) {
+            logger.warn("Failed to register MBeans", ex);
+        }
+    }
+
+    /**
+     * Gets the name the MBeans of this host are registered under.
+     *
+     * @return the name, unique within the JVM unless set through {@link #setName(String)}
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name the MBeans of this host are registered under, taking effect the next time the host starts.
+     * {@link RestartableHost} uses this to keep the same name across restarts.
+     *
+     * @param name the name
+     */
+    public void setName(@NotNull String name) {
+        this.name = name;
+    }
+
+    protected synchronized void unregisterMBeans() {
+        for (ObjectName objectName : objectNames) {
+            try {
+                MBeans.unregister(objectName);
+            } catch (Exception ex) {
+                logger.warn("Failed to unregister {}", objectName, ex);
+            }
+        }
+
+        objectNames.clear();
+    }
+
+    /**
+     * Groups the {@link HostedService}s so every service only depends on services in earlier groups, services within
+     * a group are in registration order. When the hosted service parallelism is {@code 1} every service is placed in
+     * its own group in registration order.
+     *
+     * @return the {@link HostedService} groups in start order
+     * @throws IllegalStateException if the hosted services have a circular dependency
+     */
+    protected @NotNull List<List<HostedService>> getHostedServiceGroups() {
+        List<HostedService> hostedServices = serviceProvider.getServices(HostedService.class);
+        if (hostEnvironment.getHostedServiceParallelism() <= 1 || hostedServices.size() <= 1) {
+            List<List<HostedService>> groups = new ArrayList<>(hostedServices.size());
+            for (HostedService hostedService : hostedServices) {
+                groups.add(Collections.singletonList(hostedService));
+            }
+
+            return groups;
+        }
+
+        List<ServiceDescriptor> descriptors = serviceProvider.getServiceDescriptors(HostedService.class);
+        List<Set<Class<?>>> dependencies = new ArrayList<>(descriptors.size());
+        for (ServiceDescriptor descriptor : descriptors) {
+            dependencies.add(getDependencies(descriptor));
+        }
+
+        // A service is placed one group after the last group of anything it depends on.
+        int[] levels = new int[descriptors.size()];
+        int maximumLevel = 0;
+        for (int pass = 0, changes = -1; changes != 0; pass++) {
+            if (pass > descriptors.size()) {
+                throw new IllegalStateException("Circular dependency between hosted services");
+            }
+
+            changes = 0;
+            for (int index = 0; index < descriptors.size(); index++) {
+                for (int dependencyIndex = 0; dependencyIndex < descriptors.size(); dependencyIndex++) {
+                    if (index != dependencyIndex
+                        && levels[index] <= levels[dependencyIndex]
+                        && dependencies.get(index).contains(descriptors.get(dependencyIndex).getImplementationClass())) {
+                        levels[index] = levels[dependencyIndex] + 1;
+                        maximumLevel = Math.max(maximumLevel, levels[index]);
+                        changes++;
+                    }
+                }
+            }
+        }
+
+        List<List<HostedService>> groups = new ArrayList<>(maximumLevel + 1);
+        for (int level = 0; level <= maximumLevel; level++) {
+            groups.add(new ArrayList<>());
+        }
+
+        for (int index = 0; index < hostedServices.size(); index++) {
+            groups.get(levels[index]).add(hostedServices.get(index));
+        }
+
+        return groups;
+    }
+
+    /**
+     * Resolves the services in the warm-up profile on the shared CPU executor and starts recording a new
+     * profile, which is persisted once the warm-up profile duration elapses or the host stops.
+     *
+     * @return a future which completes once the services in the warm-up profile have been resolved
+     */
+    protected @NotNull CompletableFuture<Void> startWarmup() {
+        long warmupProfileDuration = hostEnvironment.getWarmupProfileDuration();
+        if (warmupProfileDuration == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        WarmupProfile warmupProfile = new WarmupProfile(hostEnvironment.getContentRootPath().resolve("warmup.profile"));
+        this.warmupProfile = warmupProfile;
+
+        HostExecutors hostExecutors = hostEnvironment.getHostExecutors();
+        warmupProfile.startRecording(serviceProvider);
+        hostExecutors.getScheduledExecutor().schedule(
+            () -> warmupProfile.stopRecording(serviceProvider),
+            warmupProfileDuration, TimeUnit.MILLISECONDS);
+
+        return warmupProfile.warmup(serviceProvider, hostExecutors.getCpuExecutor());
+    }
+
+    /**
+     * Starts {@code hostedServices} in the background on the shared {@code Deferred Start} executor, services which
+     * start successfully are added to {@link #startedDeferredServices}.
+     *
+     * @param hostedServices the {@link Deferred} hosted services
+     * @return a future which completes once every service has started or failed
+     */
+    protected @NotNull CompletableFuture<Void> startDeferredServices(@NotNull List<HostedService> hostedServices) {
+        startedDeferredServices.clear();
+        if (hostedServices.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ExecutorService executorService = hostEnvironment.getHostExecutors().getExecutor("Deferred Start", hostEnvironment.getHostedServiceParallelism());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[hostedServices.size()];
+        for (int index = 0; index < hostedServices.size(); index++) {
+            HostedService hostedService = hostedServices.get(index);
+            futures[index] = invokeHostedService(hostedService, true, executorService).handle((result, throwable) -> {
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    logger.error("Encountered an error while starting deferred {}", hostedService.getClass().getName(), cause);
+                } else {
+                    startedDeferredServices.add(hostedService);
+                }
+
+                return null;
+            });
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Waits for deferred services to finish starting so they are not stopped while they are starting.
+     *
+     * @param deadline the {@link System#nanoTime()} to wait until, {@code null} to wait indefinitely
+     */
+    protected void awaitDeferredStart(@Nullable Long deadline) {
+        try {
+            if (deadline != null) {
+                deferredStart.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            } else {
+                deferredStart.get();
+            }
+        } catch (TimeoutException ex) {
+            logger.warn("Deferred services did not finish starting before the host stopped");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // no-op, failures have already been reported
+        }
+    }
+
+    /**
+     * Removes the {@link Deferred} services which are still starting or failed to start from {@code groups}, they
+     * are not stopped as they may be in an inconsistent state.
+     *
+     * @param groups the hosted service groups
+     * @return the hosted service groups without the deferred services which did not start
+     */
+    protected @NotNull List<List<HostedService>> removeUnstartedDeferredServices(@NotNull List<List<HostedService>> groups) {
+        List<List<HostedService>> startedGroups = new ArrayList<>(groups.size());
+        for (List<HostedService> group : groups) {
+            List<HostedService> startedGroup = new ArrayList<>(group.size());
+            for (HostedService hostedService : group) {
+                if (hostedService.getClass().isAnnotationPresent(Deferred.class) && !startedDeferredServices.contains(hostedService)) {
+                    logger.warn("Skipping deferred {} as it did not finish starting", hostedService.getClass().getName());
+                    continue;
+                }
+
+                startedGroup.add(hostedService);
+            }
+
+            if (!startedGroup.isEmpty()) {
+                startedGroups.add(startedGroup);
+            }
+        }
+
+        return startedGroups;
+    }
+
+    /**
+     * Gets the {@link HealthCheck}s registered as services and the hosted services which implement {@link HealthCheck}.
+     *
+     * @param groups the {@link HostedService} groups
+     * @return the {@link HealthCheck}s
+     */
+    protected @NotNull List<HealthCheck> getHealthChecks(@NotNull List<List<HostedService>> groups) {
+        List<HealthCheck> healthChecks = new ArrayList<>(serviceProvider.getServices(HealthCheck.class));
+        for (List<HostedService> group : groups) {
+            for (HostedService hostedService : group) {
+                if (hostedService instanceof HealthCheck && !healthChecks.contains(hostedService)) {
+                    healthChecks.add((HealthCheck) hostedService);
+                }
+            }
+        }
+
+        return healthChecks;
+    }
+
+    /**
+     * Gets the implementation classes {@code descriptor} transitively depends on.
+     *
+     * @param descriptor the {@link ServiceDescriptor}
+     * @return the implementation classes
+     */
+    protected @NotNull Set<Class<?>> getDependencies(@NotNull ServiceDescriptor descriptor) {
+        Set<Class<?>> dependencies = new HashSet<>();
+        Deque<ServiceDescriptor> deque = new ArrayDeque<>();
+        deque.push(descriptor);
+        while (!deque.isEmpty()) {
+            for (Class<?> dependencyClass : deque.pop().getDependencies()) {
+                for (ServiceDescriptor dependencyDescriptor : serviceProvider.getServiceDescriptors(dependencyClass)) {
+                    if (dependencies.add(dependencyDescriptor.getImplementationClass())) {
+                        deque.push(dependencyDescriptor);
+                    }
+                }
+            }
+        }
+
+        return dependencies;
+    }
+
+    protected @Nullable ExecutorService createExecutorService(@NotNull List<List<HostedService>> groups, boolean required) {
+        int size = 0;
+        for (List<HostedService> group : groups) {
+            size = Math.max(size, group.size());
+        }
+
+        int threads = Math.min(size, hostEnvironment.getHostedServiceParallelism());
+        if (threads <= 1 && (!required || size == 0)) {
+            return null;
+        }
+
+        return Executors.newFixedThreadPool(Math.max(threads, 1), BasicThreadFactory.builder()
+            .daemon(true)
+            .format("Hosted Service Thread #%d")
+            .build());
+    }
+
+    /**
+     * Starts or stops {@code hostedServices}, concurrently if the hosted service parallelism allows it.
+     *
+     * @param hostedServices  the {@link HostedService}s
+     * @param start           {@code true} to start the services, {@code false} to stop them
+     * @param executorService the executor synchronous services are invoked on, {@code null} to invoke them inline
+     * @param deadline        the {@link System#nanoTime()} by which the services must complete, {@code null} for no deadline
+     * @param throwables      the list failures are added to
+     */
+    protected void invokeHostedServices(@NotNull List<HostedService> hostedServices, boolean start, @Nullable ExecutorService executorService,
+                                        @Nullable Long deadline, @NotNull List<Throwable> throwables) {
+        if (hostEnvironment.getHostedServiceParallelism() <= 1 || hostedServices.size() == 1) {
+            for (HostedService hostedService : hostedServices) {
+                awaitHostedService(hostedService, invokeHostedService(hostedService, start, executorService), deadline, throwables);
+            }
+
+            return;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(hostedServices.size());
+        for (HostedService hostedService : hostedServices) {
+            futures.add(invokeHostedService(hostedService, start, executorService));
+        }
+
+        for (int index = 0; index < hostedServices.size(); index++) {
+            awaitHostedService(hostedServices.get(index), futures.get(index), deadline, throwables);
+        }
+    }
+
+    protected @NotNull CompletableFuture<Void> invokeHostedService(@NotNull HostedService hostedService, boolean start, @Nullable ExecutorService executorService) {
+        long startTime = System.nanoTime();
+        Object event = HostEvents.beginPhase();
+        CompletableFuture<Void> future;
+        try {
+            if (hostedService instanceof AsyncHostedService) {
+                AsyncHostedService asyncHostedService = (AsyncHostedService) hostedService;
+                future = start ? asyncHostedService.startAsync() : asyncHostedService.stopAsync();
+            } else {
+                Runnable runnable = start ? hostedService::start : hostedService::stop;
+                if (executorService != null) {
+                    future = CompletableFuture.runAsync(runnable, executorService);
+                } else {
+                    runnable.run();
+                    future = CompletableFuture.completedFuture(null);
+                }
+            }
+        } catch (Throwable t) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+        }
+
+        // The original future is returned so cancelling it still reaches the service.
+        HostMetrics.Phase phase = start ? HostMetrics.Phase.START : HostMetrics.Phase.STOP;
+        future.whenComplete((result, throwable) -> {
+            Throwable failure = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            hostEnvironment.getHostMetrics().record(phase, hostedService.getClass().getName(), startTime, failure);
+            HostEvents.endPhase(event, phase, hostedService.getClass().getName(), failure);
+        });
+
+        return future;
+    }
+
+    protected void awaitHostedService(@NotNull HostedService hostedService, @NotNull CompletableFuture<Void> future,
+                                      @Nullable Long deadline, @NotNull List<Throwable> throwables) {
+        try {
+            if (deadline != null) {
+                future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            } else {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throwables.add(ex.getCause() != null ? ex.getCause() : ex);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            TimeoutException timeoutException = new TimeoutException(String.format("%s did not stop within %dms", hostedService.getClass().getName(), hostEnvironment.getShutdownTimeout()));
+            logger.warn(timeoutException.getMessage());
+            throwables.add(timeoutException);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throwables.add(ex);
+        } catch (CancellationException ex) {
+            throwables.add(ex);
+        }
+    }
+
+    private static boolean containsTimeout(@NotNull List<Throwable> throwables) {
+        for (Throwable throwable : throwables) {
+            if (throwable instanceof TimeoutException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
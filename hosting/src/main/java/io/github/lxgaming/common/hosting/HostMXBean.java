@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing the state and lifecycle timings of a {@link Host}.
+ * <p>
+ * Every attribute is read from the {@link HostMetrics}, {@link HostHealth} and {@link InFlightTracker} of the host,
+ * none of which take locks when read.
+ */
+public interface HostMXBean {
+
+    /**
+     * Gets the name of the environment.
+     *
+     * @return the environment name
+     */
+    @NotNull String getEnvironmentName();
+
+    /**
+     * Checks if the host is ready.
+     *
+     * @return {@code true} if the host is ready, otherwise {@code false}
+     * @see HostHealth#isReady()
+     */
+    boolean isReady();
+
+    /**
+     * Checks if the host is live.
+     *
+     * @return {@code true} if the host is live, otherwise {@code false}
+     * @see HostHealth#isLive()
+     */
+    boolean isLive();
+
+    /**
+     * Gets the time from the start of the host until it was ready.
+     *
+     * @return the time to ready in milliseconds, {@code -1} if the host has not finished starting
+     */
+    long getTimeToReady();
+
+    /**
+     * Gets the duration of every recorded {@link HostMetrics.Timing}, keyed by phase and name.
+     *
+     * @return the durations in milliseconds
+     */
+    @NotNull Map<String, Long> getTimings();
+
+    /**
+     * Gets the number of recorded {@link HostMetrics.Timing}s which failed.
+     *
+     * @return the number of failures
+     */
+    int getFailureCount();
+
+    /**
+     * Gets the number of units of work in flight.
+     *
+     * @return the number of units of work
+     */
+    long getInFlight();
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class HostMXBeanImpl implements HostMXBean {
+
+    protected final HostEnvironmentImpl hostEnvironment;
+
+    public HostMXBeanImpl(@NotNull HostEnvironmentImpl hostEnvironment) {
+        this.hostEnvironment = hostEnvironment;
+    }
+
+    @Override
+    public @NotNull String getEnvironmentName() {
+        return hostEnvironment.getEnvironmentName();
+    }
+
+    @Override
+    public boolean isReady() {
+        return hostEnvironment.getHostHealth().isReady();
+    }
+
+    @Override
+    public boolean isLive() {
+        return hostEnvironment.getHostHealth().isLive();
+    }
+
+    @Override
+    public long getTimeToReady() {
+        Duration timeToReady = hostEnvironment.getHostMetrics().getTimeToReady();
+        return timeToReady != null ? timeToReady.toMillis() : -1L;
+    }
+
+    @Override
+    public @NotNull Map<String, Long> getTimings() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        for (HostMetrics.Timing timing : hostEnvironment.getHostMetrics().getTimings()) {
+            timings.put(String.format("%s %s", timing.getPhase().getName(), timing.getName()), timing.getDuration().toMillis());
+        }
+
+        return timings;
+    }
+
+    @Override
+    public int getFailureCount() {
+        return hostEnvironment.getHostMetrics().getFailures().size();
+    }
+
+    @Override
+    public long getInFlight() {
+        return hostEnvironment.getInFlightTracker().getInFlight();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Timings recorded while the host starts and stops, available from the service provider.
+ */
+public interface HostMetrics {
+
+    /**
+     * The time taken from the start of the host until every hosted service had started and the started hooks had
+     * run.
+     *
+     * @return the time to ready or {@code null} if the host has not finished starting
+     */
+    @Nullable Duration getTimeToReady();
+
+    /**
+     * Gets every recorded {@link Timing} in the order they completed.
+     *
+     * @return the timings
+     */
+    @NotNull List<Timing> getTimings();
+
+    /**
+     * Gets the recorded {@link Timing}s for {@code phase} in the order they completed.
+     *
+     * @param phase the phase
+     * @return the timings
+     */
+    @NotNull List<Timing> getTimings(@NotNull Phase phase);
+
+    /**
+     * Gets the recorded {@link Timing}s which failed in the order they completed.
+     *
+     * @return the failed timings
+     */
+    @NotNull List<Timing> getFailures();
+
+    enum Phase {
+
+        STARTING_HOOK("Starting Hook"),
+        START("Start"),
+        STARTED_HOOK("Started Hook"),
+        STOPPING_HOOK("Stopping Hook"),
+        STOP("Stop"),
+        STOPPED_HOOK("Stopped Hook");
+
+        private final String name;
+
+        Phase(@NotNull String name) {
+            this.name = name;
+        }
+
+        public @NotNull String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    final class Timing {
+
+        private final Phase phase;
+        private final String name;
+        private final Duration duration;
+        private final Throwable failure;
+
+        public Timing(@NotNull Phase phase, @NotNull String name, @NotNull Duration duration, @Nullable Throwable failure) {
+            this.phase = phase;
+            this.name = name;
+            this.duration = duration;
+            this.failure = failure;
+        }
+
+        public @NotNull Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * The class name of the hosted service, or for a hook the name it was added with, falling back to the
+         * {@link Phase#getName() phase name} and its position such as {@code Starting Hook #1}.
+         *
+         * @return the name
+         */
+        public @NotNull String getName() {
+            return name;
+        }
+
+        public @NotNull Duration getDuration() {
+            return duration;
+        }
+
+        public @Nullable Throwable getFailure() {
+            return failure;
+        }
+
+        public boolean isFailed() {
+            return failure != null;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s took %dms%s", phase.getName(), name, duration.toMillis(), failure != null ? " and failed" : "");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class HostMetricsImpl implements HostMetrics {
+
+    protected final List<Timing> timings;
+    protected volatile long startTime;
+    protected volatile Duration timeToReady;
+
+    public HostMetricsImpl() {
+        this.timings = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Clears the recorded timings and marks the start of the host.
+     */
+    public void markStarting() {
+        timings.clear();
+        timeToReady = null;
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Marks the host as ready.
+     */
+    public void markReady() {
+        timeToReady = Duration.ofNanos(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Records a {@link Timing} which began at {@code startTime}.
+     *
+     * @param phase     the phase
+     * @param name      the class name of the hosted service or hook
+     * @param startTime the {@link System#nanoTime()} the work began
+     * @param failure   the failure or {@code null} if the work succeeded
+     */
+    public void record(@NotNull Phase phase, @NotNull String name, long startTime, @Nullable Throwable failure) {
+        timings.add(new Timing(phase, name, Duration.ofNanos(System.nanoTime() - startTime), failure));
+    }
+
+    @Override
+    public @Nullable Duration getTimeToReady() {
+        return timeToReady;
+    }
+
+    @Override
+    public @NotNull List<Timing> getTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(timings));
+    }
+
+    /**
+     * Gets a read-only view of the recorded timings, for iterating without copying.
+     *
+     * @return the {@link Timing}s
+     */
+    @NotNull List<Timing> getTimingsView() {
+        return Collections.unmodifiableList(timings);
+    }
+
+    @Override
+    public @NotNull List<Timing> getTimings(@NotNull Phase phase) {
+        List<Timing> list = new ArrayList<>();
+        for (Timing timing : timings) {
+            if (timing.getPhase() == phase) {
+                list.add(timing);
+            }
+        }
+
+        return list;
+    }
+
+    @Override
+    public @NotNull List<Timing> getFailures() {
+        List<Timing> list = new ArrayList<>();
+        for (Timing timing : timings) {
+            if (timing.isFailed()) {
+                list.add(timing);
+            }
+        }
+
+        return list;
+    }
+}
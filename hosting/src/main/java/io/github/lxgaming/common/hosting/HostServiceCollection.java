@@ -16,17 +16,32 @@
 
 package io.github.lxgaming.common.hosting;
 
+import io.github.lxgaming.common.hosting.configuration.Configuration;
+import io.github.lxgaming.common.hosting.configuration.ConfigurationBinder;
 import io.github.lxgaming.common.inject.Service;
 import io.github.lxgaming.common.inject.ServiceCollection;
 import io.github.lxgaming.common.inject.ServiceDescriptor;
 import io.github.lxgaming.common.inject.ServiceLifetime;
+import io.github.lxgaming.common.inject.ServiceModule;
 import io.github.lxgaming.common.inject.ServiceProvider;
+import io.github.lxgaming.common.inject.intercept.ServiceInterceptor;
 import org.jetbrains.annotations.NotNull;
 
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class HostServiceCollection extends ServiceCollection {
 
+    protected final Map<Class<?>, String> configurationSections;
+
+    public HostServiceCollection() {
+        this.configurationSections = new LinkedHashMap<>();
+    }
+
     /**
      * Add an {@link HostedService} registration for the given type.
      *
@@ -36,7 +51,140 @@ public class HostServiceCollection extends ServiceCollection {
      */
     public @NotNull HostServiceCollection addHostedService(@NotNull Class<?> serviceClass, @NotNull Class<?> implementationClass) {
         return addSingleton(serviceClass, implementationClass)
-            .addSingleton(HostedService.class, serviceProvider -> serviceProvider.getRequiredService(serviceClass));
+            .add(new ServiceDescriptor(HostedService.class, implementationClass, ServiceLifetime.SINGLETON, serviceProvider -> serviceProvider.getRequiredService(serviceClass)));
+    }
+
+    /**
+     * Add a singleton registration for {@code type} bound from {@code section} of the {@link Configuration}.
+     * <p>
+     * The {@link ConfigurationBinder} for {@code type} is created immediately so an unbindable type fails here
+     * rather than on first use.
+     *
+     * @param section The configuration section
+     * @param type    The type to bind
+     * @return this {@link HostServiceCollection} for chaining
+     * @throws IllegalArgumentException if {@code type} cannot be bound
+     */
+    public @NotNull HostServiceCollection addConfiguration(@NotNull String section, @NotNull Class<?> type) {
+        ConfigurationBinder<?> binder = ConfigurationBinder.of(type);
+        configurationSections.put(type, section);
+        return addSingleton(type, serviceProvider -> binder.bind(serviceProvider.getRequiredService(Configuration.class).getSection(section)));
+    }
+
+    /**
+     * Gets the configuration sections bound through {@link #addConfiguration(String, Class)}, keyed by type.
+     *
+     * @return the configuration sections
+     */
+    public @NotNull Map<Class<?>, String> getConfigurationSections() {
+        return Collections.unmodifiableMap(configurationSections);
+    }
+
+    /**
+     * Add a {@link HealthProbeService} which exposes {@link HostHealth} over HTTP on {@code address}.
+     *
+     * @param address The address to bind to
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    public @NotNull HostServiceCollection addHealthProbe(@NotNull InetSocketAddress address) {
+        return addSingleton(HealthProbeService.class, serviceProvider -> new HealthProbeService(serviceProvider.getRequiredService(HostHealth.class), address))
+            .add(new ServiceDescriptor(HostedService.class, HealthProbeService.class, ServiceLifetime.SINGLETON, serviceProvider -> serviceProvider.getRequiredService(HealthProbeService.class)));
+    }
+
+    /**
+     * Add a {@link ConcurrencyLimiter} registration using a {@link GradientConcurrencyLimiter} with an initial limit
+     * of {@code 20}, adjusted between {@code 1} and {@code 1000}.
+     *
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    public @NotNull HostServiceCollection addConcurrencyLimiter() {
+        return addConcurrencyLimiter(20, 1, 1000);
+    }
+
+    /**
+     * Add a {@link ConcurrencyLimiter} registration using a {@link GradientConcurrencyLimiter}.
+     *
+     * @param initialLimit The initial limit
+     * @param minLimit     The minimum limit
+     * @param maxLimit     The maximum limit
+     * @return this {@link HostServiceCollection} for chaining
+     * @throws IllegalArgumentException if the limits are not {@code 1 <= minimum <= initial <= maximum}
+     */
+    public @NotNull HostServiceCollection addConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        GradientConcurrencyLimiter.checkLimits(initialLimit, minLimit, maxLimit);
+        return addSingleton(ConcurrencyLimiter.class, serviceProvider -> new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit));
+    }
+
+    /**
+     * Add a {@link MemoryPressureService} which publishes {@link MemoryPressure#ELEVATED} once any heap pool is
+     * {@code 75%} full after garbage collection and {@link MemoryPressure#CRITICAL} once it is {@code 90%} full.
+     *
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    public @NotNull HostServiceCollection addMemoryPressureMonitor() {
+        return addMemoryPressureMonitor(0.75D, 0.9D);
+    }
+
+    /**
+     * Add a {@link MemoryPressureService} with the given thresholds, expressed as the ratio of used to maximum memory
+     * of a heap pool after garbage collection.
+     *
+     * @param elevatedThreshold The ratio at which the pressure becomes {@link MemoryPressure#ELEVATED}
+     * @param criticalThreshold The ratio at which the pressure becomes {@link MemoryPressure#CRITICAL}
+     * @return this {@link HostServiceCollection} for chaining
+     * @throws IllegalArgumentException if the thresholds are not {@code 0 < elevated <= critical <= 1}
+     */
+    public @NotNull HostServiceCollection addMemoryPressureMonitor(double elevatedThreshold, double criticalThreshold) {
+        MemoryPressureService.checkThresholds(elevatedThreshold, criticalThreshold);
+        return addSingleton(MemoryPressureService.class, serviceProvider -> new MemoryPressureService(serviceProvider, elevatedThreshold, criticalThreshold))
+            .add(new ServiceDescriptor(HostedService.class, MemoryPressureService.class, ServiceLifetime.SINGLETON, serviceProvider -> serviceProvider.getRequiredService(MemoryPressureService.class)));
+    }
+
+    /**
+     * Add a {@link MetricsExporterService} which exposes metrics in the Prometheus text format over HTTP on
+     * {@code address}.
+     *
+     * @param address The address to bind to
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    public @NotNull HostServiceCollection addMetricsExporter(@NotNull InetSocketAddress address) {
+        return addSingleton(MetricsExporterService.class, serviceProvider -> new MetricsExporterService(HostBuilderImpl.getRootProvider(serviceProvider), address))
+            .add(new ServiceDescriptor(HostedService.class, MetricsExporterService.class, ServiceLifetime.SINGLETON, serviceProvider -> serviceProvider.getRequiredService(MetricsExporterService.class)));
+    }
+
+    @Override
+    protected @NotNull Supplier<? extends ServiceCollection> getModuleCollectionFactory() {
+        return HostServiceCollection::new;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    @Override
+    public @NotNull HostServiceCollection addModule(@NotNull ServiceModule module) {
+        return (HostServiceCollection) super.addModule(module);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    @Override
+    public @NotNull HostServiceCollection addModules() {
+        return (HostServiceCollection) super.addModules();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    @Override
+    public @NotNull HostServiceCollection addModules(@NotNull ClassLoader classLoader) {
+        return (HostServiceCollection) super.addModules(classLoader);
     }
 
     /**
@@ -184,6 +332,16 @@ public class HostServiceCollection extends ServiceCollection {
         return (HostServiceCollection) super.addTransient(serviceClass, implementationFactory);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return this {@link HostServiceCollection} for chaining
+     */
+    @Override
+    public @NotNull HostServiceCollection addInterceptor(@NotNull Class<?> serviceClass, @NotNull ServiceInterceptor interceptor) {
+        return (HostServiceCollection) super.addInterceptor(serviceClass, interceptor);
+    }
+
     @Override
     protected @NotNull HostServiceCollection add(@NotNull Class<?> serviceClass, @NotNull ServiceLifetime lifetime, @NotNull Function<ServiceProvider, Object> implementationFactory) {
         return (HostServiceCollection) super.add(serviceClass, lifetime, implementationFactory);
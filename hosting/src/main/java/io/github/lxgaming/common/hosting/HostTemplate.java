@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.inject.ServiceProviderImpl;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable template which creates {@link Host}s with identical registrations.
+ * <p>
+ * The services of the {@link HostBuilder} are frozen once and shared by every {@link Host} created from the
+ * template, along with the {@link io.github.lxgaming.common.hosting.configuration.Configuration} and the constructor
+ * and dependency metadata of each registration. Creating a {@link Host} only creates its own {@link HostEnvironment}
+ * and service instances.
+ */
+public class HostTemplate {
+
+    protected final HostServiceCollection serviceCollection;
+
+    protected HostTemplate(@NotNull HostServiceCollection serviceCollection) {
+        this.serviceCollection = serviceCollection;
+        serviceCollection.freeze();
+    }
+
+    /**
+     * Creates a new {@link Host} from this template.
+     *
+     * @return the default {@link Host} implementation
+     */
+    public @NotNull Host build() {
+        ServiceProviderImpl serviceProvider = serviceCollection.buildServiceProvider();
+        HostEnvironmentImpl hostEnvironment = (HostEnvironmentImpl) serviceProvider.getRequiredService(HostEnvironment.class);
+        return new HostImpl(hostEnvironment, serviceProvider);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+/**
+ * Tracks units of work which are in progress so the host can wait for them to finish before stopping services,
+ * available from the service provider.
+ * <p>
+ * Work is started with {@link #tryBegin()} and must be ended with {@link #end()} once complete:
+ * <pre>{@code
+ * if (!inFlightTracker.tryBegin()) {
+ *     // The host is stopping, reject the work.
+ *     return;
+ * }
+ *
+ * try {
+ *     // Perform the work.
+ * } finally {
+ *     inFlightTracker.end();
+ * }
+ * }</pre>
+ */
+public interface InFlightTracker {
+
+    /**
+     * Begins a unit of work if the host is still accepting work.
+     *
+     * @return {@code true} if the work was accepted and {@link #end()} must be called, otherwise {@code false}
+     */
+    boolean tryBegin();
+
+    /**
+     * Ends a unit of work which was accepted by {@link #tryBegin()}.
+     */
+    void end();
+
+    /**
+     * Gets the number of units of work in progress.
+     *
+     * @return the number of units of work
+     */
+    long getInFlight();
+
+    /**
+     * Whether new work is accepted, the host stops accepting work once it begins stopping.
+     *
+     * @return {@code true} if new work is accepted, otherwise {@code false}
+     */
+    boolean isAccepting();
+}
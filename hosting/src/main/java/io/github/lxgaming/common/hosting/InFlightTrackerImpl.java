@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InFlightTrackerImpl implements InFlightTracker {
+
+    protected final LongAdder inFlight;
+    protected volatile boolean accepting;
+
+    public InFlightTrackerImpl() {
+        this.inFlight = new LongAdder();
+        this.accepting = true;
+    }
+
+    @Override
+    public boolean tryBegin() {
+        // Incrementing before checking guarantees a drain which has stopped accepting work observes this work.
+        inFlight.increment();
+        if (accepting) {
+            return true;
+        }
+
+        end();
+        return false;
+    }
+
+    @Override
+    public void end() {
+        inFlight.decrement();
+        if (!accepting) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    public void setAccepting(boolean accepting) {
+        this.accepting = accepting;
+    }
+
+    /**
+     * Stops accepting work and waits for the work in progress to end.
+     *
+     * @param deadline the {@link System#nanoTime()} to wait until, {@code null} to wait indefinitely
+     * @return {@code true} if every unit of work ended, otherwise {@code false}
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean drain(@Nullable Long deadline) throws InterruptedException {
+        setAccepting(false);
+        synchronized (this) {
+            while (inFlight.sum() > 0) {
+                long remaining = deadline != null ? deadline - System.nanoTime() : TimeUnit.MILLISECONDS.toNanos(100L);
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                // The sum may change without a notification while it is being read, so waits are bounded.
+                wait(Math.max(Math.min(TimeUnit.NANOSECONDS.toMillis(remaining), 100L), 1L));
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.inject.intercept.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An {@link ExecutorService} managed by {@link HostExecutors} which records how long its tasks take to execute.
+ */
+public interface InstrumentedExecutor extends ExecutorService {
+
+    @NotNull String getName();
+
+    /**
+     * Gets the execution time of completed tasks in nanoseconds.
+     *
+     * @return the execution {@link LatencyHistogram}
+     */
+    @NotNull LatencyHistogram getExecutionHistogram();
+
+    /**
+     * Gets the number of tasks which completed exceptionally.
+     *
+     * @return the number of failed tasks
+     */
+    long getFailureCount();
+
+    int getActiveCount();
+
+    int getPoolSize();
+
+    int getQueueSize();
+
+    long getCompletedTaskCount();
+}
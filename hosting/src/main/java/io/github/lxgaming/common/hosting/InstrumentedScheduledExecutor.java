@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.concurrent.BasicThreadFactory;
+import io.github.lxgaming.common.inject.intercept.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InstrumentedScheduledExecutor extends ScheduledThreadPoolExecutor implements InstrumentedExecutor {
+
+    protected final String name;
+    protected final LatencyHistogram executionHistogram;
+    protected final LongAdder failureCount;
+
+    /**
+     * Creates a scheduled executor with {@code threads} threads which time out after a minute of inactivity.
+     *
+     * @param name    the name of the executor
+     * @param threads the number of threads
+     */
+    public InstrumentedScheduledExecutor(@NotNull String name, int threads) {
+        super(threads, BasicThreadFactory.builder()
+            .daemon(true)
+            .format(name + " Thread #%d")
+            .build());
+        setRemoveOnCancelPolicy(true);
+        setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        setKeepAliveTime(1L, TimeUnit.MINUTES);
+        allowCoreThreadTimeOut(true);
+        this.name = name;
+        this.executionHistogram = new LatencyHistogram();
+        this.failureCount = new LongAdder();
+    }
+
+    @Override
+    public @NotNull ScheduledFuture<?> schedule(@NotNull Runnable command, long delay, @NotNull TimeUnit unit) {
+        return super.schedule(new InstrumentedTask(command, executionHistogram, failureCount), delay, unit);
+    }
+
+    @Override
+    public <V> @NotNull ScheduledFuture<V> schedule(@NotNull Callable<V> callable, long delay, @NotNull TimeUnit unit) {
+        return super.schedule(InstrumentedTask.wrap(callable, executionHistogram, failureCount), delay, unit);
+    }
+
+    @Override
+    public @NotNull ScheduledFuture<?> scheduleAtFixedRate(@NotNull Runnable command, long initialDelay, long period, @NotNull TimeUnit unit) {
+        return super.scheduleAtFixedRate(new InstrumentedTask(command, executionHistogram, failureCount), initialDelay, period, unit);
+    }
+
+    @Override
+    public @NotNull ScheduledFuture<?> scheduleWithFixedDelay(@NotNull Runnable command, long initialDelay, long delay, @NotNull TimeUnit unit) {
+        return super.scheduleWithFixedDelay(new InstrumentedTask(command, executionHistogram, failureCount), initialDelay, delay, unit);
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public @NotNull LatencyHistogram getExecutionHistogram() {
+        return executionHistogram;
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return getQueue().size();
+    }
+}
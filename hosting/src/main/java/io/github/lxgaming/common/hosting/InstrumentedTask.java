@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.Preconditions;
+import io.github.lxgaming.common.inject.intercept.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps a task submitted to an {@link InstrumentedExecutor}, recording how long it takes to execute and whether it
+ * failed.
+ */
+final class InstrumentedTask implements Runnable {
+
+    private final Runnable runnable;
+    private final LatencyHistogram executionHistogram;
+    private final LongAdder failureCount;
+
+    InstrumentedTask(@NotNull Runnable runnable, @NotNull LatencyHistogram executionHistogram, @NotNull LongAdder failureCount) {
+        this.runnable = Preconditions.checkNotNull(runnable, "runnable");
+        this.executionHistogram = executionHistogram;
+        this.failureCount = failureCount;
+    }
+
+    @Override
+    public void run() {
+        long startTime = System.nanoTime();
+        Throwable throwable = null;
+        try {
+            runnable.run();
+        } catch (RuntimeException | Error ex) {
+            throwable = ex;
+            throw ex;
+        } finally {
+            executionHistogram.record(System.nanoTime() - startTime);
+            if (isFailed(runnable, throwable)) {
+                failureCount.increment();
+            }
+        }
+    }
+
+    static <V> @NotNull Callable<V> wrap(@NotNull Callable<V> callable, @NotNull LatencyHistogram executionHistogram, @NotNull LongAdder failureCount) {
+        Preconditions.checkNotNull(callable, "callable");
+        return () -> {
+            long startTime = System.nanoTime();
+            boolean failed = true;
+            try {
+                V result = callable.call();
+                failed = false;
+                return result;
+            } finally {
+                executionHistogram.record(System.nanoTime() - startTime);
+                if (failed) {
+                    failureCount.increment();
+                }
+            }
+        };
+    }
+
+    /**
+     * Checks whether a task failed, tasks submitted through {@code submit} capture their exception in the
+     * returned {@link Future} rather than throwing it.
+     *
+     * @param runnable  the task
+     * @param throwable the exception thrown by the task
+     * @return {@code true} if the task failed, otherwise {@code false}
+     */
+    static boolean isFailed(@NotNull Runnable runnable, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            return true;
+        }
+
+        if (runnable instanceof Future<?> && ((Future<?>) runnable).isDone()) {
+            try {
+                ((Future<?>) runnable).get();
+            } catch (ExecutionException ex) {
+                return true;
+            } catch (Exception ex) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+}
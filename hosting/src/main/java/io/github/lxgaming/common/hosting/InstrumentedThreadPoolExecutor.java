@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.concurrent.BasicThreadFactory;
+import io.github.lxgaming.common.inject.intercept.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor implements InstrumentedExecutor {
+
+    protected final String name;
+    protected final LatencyHistogram executionHistogram;
+    protected final LongAdder failureCount;
+
+    /**
+     * Creates an executor with up to {@code threads} threads which time out after a minute of inactivity.
+     *
+     * @param name    the name of the executor
+     * @param threads the maximum number of threads
+     */
+    public InstrumentedThreadPoolExecutor(@NotNull String name, int threads) {
+        super(threads, threads, 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), BasicThreadFactory.builder()
+            .daemon(true)
+            .format(name + " Thread #%d")
+            .build());
+        allowCoreThreadTimeOut(true);
+        this.name = name;
+        this.executionHistogram = new LatencyHistogram();
+        this.failureCount = new LongAdder();
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        super.execute(new InstrumentedTask(command, executionHistogram, failureCount));
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public @NotNull LatencyHistogram getExecutionHistogram() {
+        return executionHistogram;
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return getQueue().size();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Graded heap memory pressure published by {@link MemoryPressureService}.
+ */
+public enum MemoryPressure {
+
+    /**
+     * Heap usage after garbage collection is below the elevated threshold.
+     */
+    NORMAL("Normal"),
+
+    /**
+     * Heap usage after garbage collection has reached the elevated threshold, optional memory such as caches should
+     * be trimmed.
+     */
+    ELEVATED("Elevated"),
+
+    /**
+     * Heap usage after garbage collection has reached the critical threshold, as much memory as possible should be
+     * released.
+     */
+    CRITICAL("Critical");
+
+    private final String name;
+
+    MemoryPressure(@NotNull String name) {
+        this.name = name;
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified when the {@link MemoryPressure} changes, services registered as {@link MemoryPressureListener} are
+ * notified automatically.
+ */
+@FunctionalInterface
+public interface MemoryPressureListener {
+
+    /**
+     * Triggered on a JMX notification thread whenever the {@link MemoryPressure} changes, implementations should
+     * release memory promptly and must not block.
+     *
+     * @param pressure the new {@link MemoryPressure}
+     */
+    void onMemoryPressure(@NotNull MemoryPressure pressure);
+}
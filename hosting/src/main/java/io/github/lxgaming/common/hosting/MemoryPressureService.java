@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.Preconditions;
+import io.github.lxgaming.common.inject.ServiceProvider;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Publishes {@link MemoryPressure} from the heap usage remaining after garbage collection.
+ * <p>
+ * The pressure is re-evaluated after every garbage collection, so it also returns to {@link MemoryPressure#NORMAL}
+ * once memory has been released. The pressure is the highest ratio of used to maximum memory of any heap pool after
+ * its last collection. No JVM-wide memory settings, such as collection usage thresholds, are changed.
+ * <p>
+ * {@link MemoryPressureListener} services are resolved when the service starts.
+ *
+ * @see HostServiceCollection#addMemoryPressureMonitor(double, double)
+ */
+public class MemoryPressureService implements HostedService {
+
+    protected static final String GARBAGE_COLLECTION_NOTIFICATION = "com.sun.management.gc.notification";
+
+    protected final Logger logger;
+    protected final ServiceProvider serviceProvider;
+    protected final double elevatedThreshold;
+    protected final double criticalThreshold;
+    protected final List<MemoryPressureListener> listeners;
+    protected volatile List<MemoryPressureListener> serviceListeners;
+    protected final List<NotificationEmitter> emitters;
+    protected final NotificationListener notificationListener;
+    protected volatile MemoryPressure pressure;
+
+    public MemoryPressureService(@NotNull ServiceProvider serviceProvider, double elevatedThreshold, double criticalThreshold) {
+        checkThresholds(elevatedThreshold, criticalThreshold);
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.serviceProvider = serviceProvider;
+        this.elevatedThreshold = elevatedThreshold;
+        this.criticalThreshold = criticalThreshold;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.serviceListeners = Collections.emptyList();
+        this.emitters = new ArrayList<>();
+        this.notificationListener = this::handleNotification;
+        this.pressure = MemoryPressure.NORMAL;
+    }
+
+    @Override
+    public synchronized void start() {
+        serviceListeners = new ArrayList<>(serviceProvider.getServices(MemoryPressureListener.class));
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            addNotificationListener(garbageCollector);
+        }
+
+        update();
+    }
+
+    @Override
+    public synchronized void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(notificationListener);
+            } catch (ListenerNotFoundException ex) {
+                // no-op
+            }
+        }
+
+        emitters.clear();
+    }
+
+    public void addListener(@NotNull MemoryPressureListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull MemoryPressureListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the current {@link MemoryPressure}.
+     *
+     * @return the {@link MemoryPressure}
+     */
+    public @NotNull MemoryPressure getPressure() {
+        return pressure;
+    }
+
+    /**
+     * Re-evaluates the {@link MemoryPressure} from the heap usage after the last garbage collection of each pool.
+     *
+     * @return the {@link MemoryPressure}
+     */
+    public @NotNull MemoryPressure update() {
+        double ratio = 0.0D;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+
+            MemoryUsage usage = memoryPool.getCollectionUsage();
+            if (usage != null && usage.getMax() > 0L) {
+                ratio = Math.max(ratio, (double) usage.getUsed() / usage.getMax());
+            }
+        }
+
+        MemoryPressure pressure = getPressure(ratio);
+        setPressure(pressure);
+        return pressure;
+    }
+
+    protected @NotNull MemoryPressure getPressure(double ratio) {
+        if (ratio >= criticalThreshold) {
+            return MemoryPressure.CRITICAL;
+        }
+
+        if (ratio >= elevatedThreshold) {
+            return MemoryPressure.ELEVATED;
+        }
+
+        return MemoryPressure.NORMAL;
+    }
+
+    protected void setPressure(@NotNull MemoryPressure pressure) {
+        MemoryPressure previousPressure;
+        synchronized (listeners) {
+            previousPressure = this.pressure;
+            if (previousPressure == pressure) {
+                return;
+            }
+
+            this.pressure = pressure;
+        }
+
+        if (pressure == MemoryPressure.NORMAL) {
+            logger.info("Memory pressure changed from {} to {}", previousPressure.getName(), pressure.getName());
+        } else {
+            logger.warn("Memory pressure changed from {} to {}", previousPressure.getName(), pressure.getName());
+        }
+
+        notifyListeners(serviceListeners, pressure);
+        notifyListeners(listeners, pressure);
+    }
+
+    protected void notifyListeners(@NotNull List<MemoryPressureListener> listeners, @NotNull MemoryPressure pressure) {
+        for (MemoryPressureListener listener : listeners) {
+            try {
+                listener.onMemoryPressure(pressure);
+            } catch (Exception ex) {
+                logger.error("Encountered an error while notifying {}", listener.getClass().getName(), ex);
+            }
+        }
+    }
+
+    protected static void checkThresholds(double elevatedThreshold, double criticalThreshold) {
+        Preconditions.checkArgument(elevatedThreshold > 0.0D && elevatedThreshold <= criticalThreshold && criticalThreshold <= 1.0D,
+            "Thresholds must satisfy 0 < elevated (%s) <= critical (%s) <= 1", elevatedThreshold, criticalThreshold);
+    }
+
+    protected void handleNotification(@NotNull Notification notification, Object handback) {
+        if (notification.getType().equals(GARBAGE_COLLECTION_NOTIFICATION)) {
+            update();
+        }
+    }
+
+    protected void addNotificationListener(@NotNull Object object) {
+        if (object instanceof NotificationEmitter) {
+            NotificationEmitter emitter = (NotificationEmitter) object;
+            emitter.addNotificationListener(notificationListener, null, null);
+            emitters.add(emitter);
+        }
+    }
+}
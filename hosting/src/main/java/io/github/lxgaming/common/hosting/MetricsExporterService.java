@@ -0,0 +1,285 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.lxgaming.common.concurrent.BasicThreadFactory;
+import io.github.lxgaming.common.inject.ServiceActivationListener;
+import io.github.lxgaming.common.inject.ServiceProviderImpl;
+import io.github.lxgaming.common.inject.intercept.LatencyHistogram;
+import io.github.lxgaming.common.task.Task;
+import io.github.lxgaming.common.task.TaskMXBean;
+import io.github.lxgaming.common.task.TaskStatistics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exposes host, provider, executor and {@link io.github.lxgaming.common.task.Task} metrics over HTTP on
+ * {@code /metrics} in the Prometheus text exposition format.
+ * <p>
+ * Requests are served by a single thread which reuses one {@link PrometheusWriter}, so a scrape does not allocate in
+ * proportion to the number of metrics.
+ *
+ * @see HostServiceCollection#addMetricsExporter(InetSocketAddress)
+ */
+public class MetricsExporterService implements HostedService {
+
+    protected final ServiceProviderImpl serviceProvider;
+    protected final HostEnvironmentImpl hostEnvironment;
+    protected final InetSocketAddress address;
+    protected final List<TaskMetric> tasks;
+    protected final LongAdder activationCount;
+    protected final LongAdder activationTime;
+    protected final ServiceActivationListener activationListener;
+    protected final PrometheusWriter writer;
+    protected HttpServer httpServer;
+    protected ExecutorService executorService;
+
+    public MetricsExporterService(@NotNull ServiceProviderImpl serviceProvider, @NotNull InetSocketAddress address) {
+        this.serviceProvider = serviceProvider;
+        this.hostEnvironment = (HostEnvironmentImpl) serviceProvider.getRequiredService(HostEnvironment.class);
+        this.address = address;
+        this.tasks = new CopyOnWriteArrayList<>();
+        this.activationCount = new LongAdder();
+        this.activationTime = new LongAdder();
+        this.activationListener = (descriptor, duration) -> {
+            activationCount.increment();
+            activationTime.add(duration);
+        };
+        this.writer = new PrometheusWriter();
+    }
+
+    @Override
+    public void start() {
+        try {
+            httpServer = HttpServer.create(address, 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(String.format("Failed to bind metrics exporter to %s", address), ex);
+        }
+
+        executorService = Executors.newSingleThreadExecutor(BasicThreadFactory.builder()
+            .daemon(true)
+            .format("Metrics Exporter Thread #%d")
+            .build());
+
+        serviceProvider.addActivationListener(activationListener);
+        httpServer.setExecutor(executorService);
+        httpServer.createContext("/metrics", this::respond);
+        httpServer.start();
+    }
+
+    @Override
+    public void stop() {
+        serviceProvider.removeActivationListener(activationListener);
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    /**
+     * Adds {@code task} to the exported metrics, labelled with {@code name}.
+     *
+     * @param name the task name
+     * @param task the task
+     */
+    public void addTask(@NotNull String name, @NotNull Task task) {
+        tasks.add(new TaskMetric(name, task.getStatistics()));
+    }
+
+    /**
+     * Removes {@code task} from the exported metrics.
+     *
+     * @param task the task
+     * @return {@code true} if {@code task} was removed, otherwise {@code false}
+     */
+    public boolean removeTask(@NotNull Task task) {
+        TaskStatistics statistics = task.getStatistics();
+        return tasks.removeIf(metric -> metric.task == statistics);
+    }
+
+    /**
+     * Gets the address the exporter is bound to, which differs from the configured address when binding to port 0.
+     *
+     * @return the bound address or {@code null} if the exporter has not started
+     */
+    public @Nullable InetSocketAddress getAddress() {
+        return httpServer != null ? httpServer.getAddress() : null;
+    }
+
+    /**
+     * Writes every metric to {@code writer}.
+     *
+     * @param writer the {@link PrometheusWriter}
+     */
+    public void write(@NotNull PrometheusWriter writer) {
+        writeHost(writer);
+        writeProvider(writer);
+        writeExecutors(writer);
+        writeTasks(writer);
+    }
+
+    protected void respond(@NotNull HttpExchange exchange) throws IOException {
+        try {
+            ByteBuffer buffer;
+            synchronized (writer) {
+                writer.reset();
+                write(writer);
+                buffer = writer.encode();
+
+                exchange.getResponseHeaders().set("Content-Type", PrometheusWriter.CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, buffer.remaining());
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    protected void writeHost(@NotNull PrometheusWriter writer) {
+        HostHealthImpl hostHealth = hostEnvironment.getHostHealth();
+        writer.family("common_host_ready", "gauge", "Whether the host is ready");
+        writer.sample("common_host_ready").value(hostHealth.isReady());
+        writer.family("common_host_live", "gauge", "Whether the host is live");
+        writer.sample("common_host_live").value(hostHealth.isLive());
+
+        HostMetricsImpl hostMetrics = hostEnvironment.getHostMetrics();
+        if (hostMetrics.getTimeToReady() != null) {
+            writer.family("common_host_time_to_ready_seconds", "gauge", "Time from the start of the host until it was ready");
+            writer.sample("common_host_time_to_ready_seconds").seconds(hostMetrics.getTimeToReady().toNanos());
+        }
+
+        writer.family("common_host_phase_seconds", "gauge", "Duration of each lifecycle hook and hosted service start or stop");
+        for (HostMetrics.Timing timing : hostMetrics.getTimingsView()) {
+            writer.sample("common_host_phase_seconds")
+                .label("phase", timing.getPhase().getName())
+                .label("name", timing.getName())
+                .label("failed", timing.isFailed() ? "true" : "false")
+                .seconds(timing.getDuration().toNanos());
+        }
+
+        writer.family("common_host_in_flight", "gauge", "Units of work in flight");
+        writer.sample("common_host_in_flight").value(hostEnvironment.getInFlightTracker().getInFlight());
+    }
+
+    protected void writeProvider(@NotNull PrometheusWriter writer) {
+        writer.family("common_provider_descriptors", "gauge", "Registered service descriptors");
+        writer.sample("common_provider_descriptors").value(serviceProvider.getDescriptorCount());
+        writer.family("common_provider_instances", "gauge", "Service instances held by the root provider");
+        writer.sample("common_provider_instances").value(serviceProvider.getInstanceCount());
+        writer.family("common_provider_scopes", "gauge", "Scopes which have not been closed");
+        writer.sample("common_provider_scopes").value(serviceProvider.getScopeCount());
+        writer.family("common_provider_closeables", "gauge", "Instances which will be closed with the provider");
+        writer.sample("common_provider_closeables").value(serviceProvider.getCloseableCount());
+        writer.family("common_provider_activations_total", "counter", "Service instances created since the exporter started");
+        writer.sample("common_provider_activations_total").value(activationCount.sum());
+        writer.family("common_provider_activation_seconds_total", "counter", "Time spent creating service instances since the exporter started");
+        writer.sample("common_provider_activation_seconds_total").seconds(activationTime.sum());
+    }
+
+    protected void writeExecutors(@NotNull PrometheusWriter writer) {
+        Iterable<InstrumentedExecutor> executors = hostEnvironment.getHostExecutors().getExecutorsView();
+        writer.family("common_executor_active_threads", "gauge", "Threads actively executing tasks");
+        for (InstrumentedExecutor executor : executors) {
+            writer.sample("common_executor_active_threads").label("executor", executor.getName()).value(executor.getActiveCount());
+        }
+
+        writer.family("common_executor_pool_size", "gauge", "Threads in the pool");
+        for (InstrumentedExecutor executor : executors) {
+            writer.sample("common_executor_pool_size").label("executor", executor.getName()).value(executor.getPoolSize());
+        }
+
+        writer.family("common_executor_queue_size", "gauge", "Tasks waiting to execute");
+        for (InstrumentedExecutor executor : executors) {
+            writer.sample("common_executor_queue_size").label("executor", executor.getName()).value(executor.getQueueSize());
+        }
+
+        writer.family("common_executor_failures_total", "counter", "Tasks which completed exceptionally");
+        for (InstrumentedExecutor executor : executors) {
+            writer.sample("common_executor_failures_total").label("executor", executor.getName()).value(executor.getFailureCount());
+        }
+
+        writer.family("common_executor_execution_seconds", "summary", "Execution time of completed tasks");
+        for (InstrumentedExecutor executor : executors) {
+            LatencyHistogram histogram = executor.getExecutionHistogram();
+            writer.sample("common_executor_execution_seconds").label("executor", executor.getName()).label("quantile", "0.5").seconds(histogram.getPercentile(0.5D));
+            writer.sample("common_executor_execution_seconds").label("executor", executor.getName()).label("quantile", "0.99").seconds(histogram.getPercentile(0.99D));
+            writer.sample("common_executor_execution_seconds_sum").label("executor", executor.getName()).seconds(histogram.getTotal());
+            writer.sample("common_executor_execution_seconds_count").label("executor", executor.getName()).value(histogram.getCount());
+        }
+    }
+
+    protected void writeTasks(@NotNull PrometheusWriter writer) {
+        // Snapshot once so every family reports the same tasks when one is added or removed mid-scrape.
+        TaskMetric[] metrics = tasks.toArray(new TaskMetric[0]);
+        if (metrics.length == 0) {
+            return;
+        }
+
+        writer.family("common_task_executions_total", "counter", "Completed task executions");
+        for (TaskMetric metric : metrics) {
+            writer.sample("common_task_executions_total").label("task", metric.name).value(metric.task.getExecutionCount());
+        }
+
+        writer.family("common_task_failures_total", "counter", "Task executions which threw an exception");
+        for (TaskMetric metric : metrics) {
+            writer.sample("common_task_failures_total").label("task", metric.name).value(metric.task.getFailureCount());
+        }
+
+        writer.family("common_task_execution_seconds", "gauge", "Last, mean and max task execution time");
+        for (TaskMetric metric : metrics) {
+            writer.sample("common_task_execution_seconds").label("task", metric.name).label("statistic", "last").seconds(metric.task.getLastExecutionTime());
+            writer.sample("common_task_execution_seconds").label("task", metric.name).label("statistic", "mean").seconds(metric.task.getMeanExecutionTime());
+            writer.sample("common_task_execution_seconds").label("task", metric.name).label("statistic", "max").seconds(metric.task.getMaxExecutionTime());
+        }
+
+        writer.family("common_task_delay_seconds", "gauge", "Delay before the first task execution");
+        for (TaskMetric metric : metrics) {
+            writer.sample("common_task_delay_seconds").label("task", metric.name).seconds(metric.task.getDelay() * 1_000_000L);
+        }
+    }
+
+    protected static final class TaskMetric {
+
+        protected final String name;
+        protected final TaskMXBean task;
+
+        protected TaskMetric(@NotNull String name, @NotNull TaskMXBean task) {
+            this.name = name;
+            this.task = task;
+        }
+    }
+}
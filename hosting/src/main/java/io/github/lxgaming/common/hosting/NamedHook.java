@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A hook added with a name, which is recorded in {@link HostMetrics} in place of a generated name.
+ */
+final class NamedHook implements Runnable {
+
+    private final String name;
+    private final Runnable runnable;
+
+    NamedHook(@NotNull String name, @NotNull Runnable runnable) {
+        this.name = name;
+        this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+        runnable.run();
+    }
+
+    @NotNull String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes metrics in the Prometheus text exposition format.
+ * <p>
+ * The character and byte buffers are reused between writes and only grow, so writing the same metrics again does
+ * not allocate. Instances are not thread-safe.
+ */
+public class PrometheusWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    protected final StringBuilder builder;
+    protected final CharsetEncoder encoder;
+    protected ByteBuffer buffer;
+    protected boolean labels;
+
+    public PrometheusWriter() {
+        this.builder = new StringBuilder(4096);
+        this.encoder = StandardCharsets.UTF_8.newEncoder();
+        this.buffer = ByteBuffer.allocate(4096);
+    }
+
+    /**
+     * Clears the written metrics, retaining the buffers.
+     */
+    public void reset() {
+        builder.setLength(0);
+        labels = false;
+    }
+
+    /**
+     * Writes the {@code HELP} and {@code TYPE} lines of a metric family.
+     *
+     * @param name the metric name
+     * @param type the metric type, such as {@code gauge}, {@code counter} or {@code summary}
+     * @param help the help text
+     * @return this {@link PrometheusWriter} for chaining
+     */
+    public @NotNull PrometheusWriter family(@NotNull String name, @NotNull String type, @NotNull String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * Starts a sample of {@code name}, followed by any number of {@link #label(String, String)} calls and then one of
+     * the {@code value} methods.
+     *
+     * @param name the sample name
+     * @return this {@link PrometheusWriter} for chaining
+     */
+    public @NotNull PrometheusWriter sample(@NotNull String name) {
+        builder.append(name);
+        labels = false;
+        return this;
+    }
+
+    /**
+     * Adds a label to the current sample, escaping {@code value}.
+     *
+     * @param key   the label name
+     * @param value the label value
+     * @return this {@link PrometheusWriter} for chaining
+     */
+    public @NotNull PrometheusWriter label(@NotNull String key, @NotNull String value) {
+        builder.append(labels ? ',' : '{').append(key).append("=\"");
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character == '\\' || character == '"') {
+                builder.append('\\').append(character);
+            } else if (character == '\n') {
+                builder.append("\\n");
+            } else {
+                builder.append(character);
+            }
+        }
+
+        builder.append('"');
+        labels = true;
+        return this;
+    }
+
+    /**
+     * Completes the current sample with {@code value}.
+     *
+     * @param value the value
+     */
+    public void value(long value) {
+        endLabels();
+        builder.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Completes the current sample with {@code value}, {@code 1} if {@code true} otherwise {@code 0}.
+     *
+     * @param value the value
+     */
+    public void value(boolean value) {
+        value(value ? 1L : 0L);
+    }
+
+    /**
+     * Completes the current sample with {@code nanos} converted to seconds, written without a floating point
+     * conversion.
+     *
+     * @param nanos the value in nanoseconds
+     */
+    public void seconds(long nanos) {
+        endLabels();
+        builder.append(' ');
+        if (nanos < 0L) {
+            builder.append('-');
+            nanos = -nanos;
+        }
+
+        builder.append(nanos / 1_000_000_000L).append('.');
+        long fraction = nanos % 1_000_000_000L;
+        for (long divisor = 100_000_000L; divisor > fraction && divisor > 1L; divisor /= 10L) {
+            builder.append('0');
+        }
+
+        builder.append(fraction).append('\n');
+    }
+
+    /**
+     * Encodes the written metrics as UTF-8 into the reusable byte buffer.
+     *
+     * @return the byte buffer, positioned at {@code 0} with its limit at the end of the metrics, which is only valid
+     * until the next call to this method
+     */
+    public @NotNull ByteBuffer encode() {
+        CharBuffer chars = CharBuffer.wrap(builder);
+        while (true) {
+            buffer.clear();
+            encoder.reset();
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (!result.isOverflow()) {
+                result = encoder.flush(buffer);
+            }
+
+            if (!result.isOverflow()) {
+                buffer.flip();
+                return buffer;
+            }
+
+            chars.rewind();
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+        }
+    }
+
+    protected void endLabels() {
+        if (labels) {
+            builder.append('}');
+            labels = false;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.inject.ServiceProvider;
+import org.jetbrains.annotations.Blocking;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Host} which can be rebuilt and restarted within the same JVM.
+ * <p>
+ * Each restart stops and closes the current {@link Host}, then builds and starts a new one from a fresh
+ * {@link HostBuilder}. Class metadata, JIT-compiled code and the constructor and configuration binding metadata
+ * cached per class are kept, so a restart only pays for creating the new instances. Every {@link HostImpl} built
+ * registers its MBeans under the name of the first, so monitoring keeps tracking the same MBeans across restarts.
+ */
+public class RestartableHost implements Host {
+
+    protected final Supplier<HostBuilder> hostBuilderSupplier;
+    protected final Logger logger;
+    protected final String name;
+    protected volatile Host host;
+    protected volatile int generation;
+
+    public RestartableHost(@NotNull Supplier<HostBuilder> hostBuilderSupplier) {
+        this.hostBuilderSupplier = hostBuilderSupplier;
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.host = hostBuilderSupplier.get().build();
+        this.name = host instanceof HostImpl ? ((HostImpl) host).getName() : null;
+    }
+
+    @Override
+    public void start() {
+        host.start();
+    }
+
+    @Override
+    public void stop() throws Exception {
+        host.stop();
+    }
+
+    /**
+     * Stops and closes the current {@link Host}, then builds and starts a new {@link Host}.
+     * <p>
+     * Threads blocked in {@link #waitForShutdown()} keep waiting on the new {@link Host}.
+     *
+     * @throws Exception if an exception was encountered while stopping or closing the current {@link Host}, the new
+     *                   {@link Host} is started regardless
+     */
+    public synchronized void restart() throws Exception {
+        long startTime = System.nanoTime();
+        Host previousHost = host;
+        Exception ex = null;
+        try {
+            previousHost.stop();
+        } catch (Exception t) {
+            ex = t;
+        }
+
+        try {
+            previousHost.close();
+        } catch (Exception t) {
+            if (ex == null) {
+                ex = t;
+            } else {
+                ex.addSuppressed(t);
+            }
+        }
+
+        try {
+            Host host = hostBuilderSupplier.get().build();
+            if (name != null && host instanceof HostImpl) {
+                ((HostImpl) host).setName(name);
+            }
+
+            this.host = host;
+            generation++;
+            host.start();
+        } finally {
+            // Wake threads waiting on the previous host so they move to the new host, the generation is incremented
+            // first so a thread which has yet to wait sees the restart instead of missing the notification.
+            getHostEnvironment(previousHost).stop();
+        }
+
+        logger.info("Host restarted in {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        if (ex != null) {
+            throw ex;
+        }
+    }
+
+    @Override
+    @Blocking
+    public void run() throws Exception {
+        Thread thread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            HostEnvironment hostEnvironment = getHostEnvironment(host);
+            hostEnvironment.stop();
+
+            try {
+                thread.join(hostEnvironment.getShutdownTimeout());
+            } catch (InterruptedException ex) {
+                // no-op
+            }
+        }, "Shutdown Thread"));
+
+        try {
+            start();
+            waitForShutdown();
+            stop();
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void runAsync() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                stop();
+            } catch (Exception ex) {
+                logger.error("Encountered an error while stopping the host", ex);
+            }
+
+            try {
+                close();
+            } catch (Exception ex) {
+                logger.error("Encountered an error while closing the host", ex);
+            }
+        }, "Shutdown Thread"));
+
+        start();
+    }
+
+    @Override
+    @Blocking
+    public void waitForShutdown() {
+        while (true) {
+            int currentGeneration = generation;
+            HostEnvironment hostEnvironment = getHostEnvironment(host);
+            try {
+                synchronized (hostEnvironment) {
+                    if (currentGeneration != generation) {
+                        continue;
+                    }
+
+                    hostEnvironment.wait();
+                }
+            } catch (InterruptedException ex) {
+                return;
+            }
+
+            if (currentGeneration == generation) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public @NotNull ServiceProvider getServiceProvider() {
+        return host.getServiceProvider();
+    }
+
+    public @NotNull Host getHost() {
+        return host;
+    }
+
+    @Override
+    public void close() throws Exception {
+        host.close();
+    }
+
+    protected static @NotNull HostEnvironment getHostEnvironment(@NotNull Host host) {
+        return host.getServiceProvider().getRequiredService(HostEnvironment.class);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import io.github.lxgaming.common.inject.ServiceActivationListener;
+import io.github.lxgaming.common.inject.ServiceDescriptor;
+import io.github.lxgaming.common.inject.ServiceLifetime;
+import io.github.lxgaming.common.inject.ServiceProviderImpl;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the services resolved early in a run and resolves them ahead of time on the next run.
+ * <p>
+ * The profile is a text file listing one service class name per line in the order the services were first
+ * created. Only {@link ServiceLifetime#SINGLETON} services are recorded, resolving any other service ahead of time
+ * would create an instance nobody uses.
+ * <p>
+ * Services created while warming up are not recorded, however services which were warmed up are kept in the
+ * profile as long as they can still be resolved, their next resolution no longer creates an instance to record.
+ */
+public class WarmupProfile implements ServiceActivationListener {
+
+    protected final Logger logger;
+    protected final Path path;
+    protected final Set<String> serviceClasses;
+    protected final Set<String> warmedServiceClasses;
+    protected final AtomicBoolean recording;
+    protected volatile Thread warmupThread;
+
+    public WarmupProfile(@NotNull Path path) {
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.path = path;
+        this.serviceClasses = new LinkedHashSet<>();
+        this.warmedServiceClasses = new LinkedHashSet<>();
+        this.recording = new AtomicBoolean();
+    }
+
+    @Override
+    public void onActivated(@NotNull ServiceDescriptor descriptor, long duration) {
+        if (descriptor.getLifetime() != ServiceLifetime.SINGLETON || Thread.currentThread() == warmupThread) {
+            return;
+        }
+
+        synchronized (serviceClasses) {
+            serviceClasses.add(descriptor.getServiceClass().getName());
+        }
+    }
+
+    /**
+     * Resolves every singleton service in the persisted profile on {@code executor}, services which cannot be resolved
+     * are skipped.
+     * <p>
+     * Services are resolved one at a time by a single task. Root singletons are created while holding the provider's
+     * lock, so resolving them from several threads would only contend on it, the benefit comes from overlapping the
+     * warm-up with the hosted services starting.
+     *
+     * @param serviceProvider the {@link ServiceProviderImpl}
+     * @param executor        the executor
+     * @return a future which completes once every service has been resolved or skipped
+     */
+    public @NotNull CompletableFuture<Void> warmup(@NotNull ServiceProviderImpl serviceProvider, @NotNull Executor executor) {
+        List<String> serviceClassNames = load();
+        if (serviceClassNames.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            warmupThread = Thread.currentThread();
+            try {
+                for (String serviceClassName : serviceClassNames) {
+                    if (warmup(serviceProvider, serviceClassName)) {
+                        synchronized (serviceClasses) {
+                            warmedServiceClasses.add(serviceClassName);
+                        }
+                    }
+                }
+            } finally {
+                warmupThread = null;
+            }
+        }, executor);
+    }
+
+    protected boolean warmup(@NotNull ServiceProviderImpl serviceProvider, @NotNull String serviceClassName) {
+        try {
+            Class<?> serviceClass = Class.forName(serviceClassName, false, getClassLoader());
+            List<ServiceDescriptor> descriptors = serviceProvider.getServiceDescriptors(serviceClass);
+            if (descriptors.isEmpty() || descriptors.get(0).getLifetime() != ServiceLifetime.SINGLETON) {
+                return false;
+            }
+
+            return serviceProvider.getService(serviceClass) != null;
+        } catch (Throwable t) {
+            logger.debug("Failed to warm up {}", serviceClassName, t);
+            return false;
+        }
+    }
+
+    /**
+     * Starts recording the services created by {@code serviceProvider}.
+     *
+     * @param serviceProvider the {@link ServiceProviderImpl}
+     */
+    public void startRecording(@NotNull ServiceProviderImpl serviceProvider) {
+        if (recording.compareAndSet(false, true)) {
+            serviceProvider.addActivationListener(this);
+        }
+    }
+
+    /**
+     * Stops recording and persists the profile, subsequent calls have no effect.
+     *
+     * @param serviceProvider the {@link ServiceProviderImpl}
+     */
+    public void stopRecording(@NotNull ServiceProviderImpl serviceProvider) {
+        if (!recording.compareAndSet(true, false)) {
+            return;
+        }
+
+        serviceProvider.removeActivationListener(this);
+
+        List<String> lines;
+        synchronized (serviceClasses) {
+            Set<String> serviceClassNames = new LinkedHashSet<>(warmedServiceClasses);
+            serviceClassNames.addAll(serviceClasses);
+            lines = new ArrayList<>(serviceClassNames);
+        }
+
+        try {
+            Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temporaryPath, lines, StandardCharsets.UTF_8);
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Recorded {} services to {}", lines.size(), path);
+        } catch (IOException ex) {
+            logger.warn("Failed to save warm-up profile to {}", path, ex);
+        }
+    }
+
+    /**
+     * Loads the persisted profile.
+     *
+     * @return the service class names, empty if there is no profile
+     */
+    public @NotNull List<String> load() {
+        if (Files.notExists(path)) {
+            return Collections.emptyList();
+        }
+
+        try {
+            List<String> serviceClassNames = new ArrayList<>();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String serviceClassName = line.trim();
+                if (!serviceClassName.isEmpty()) {
+                    serviceClassNames.add(serviceClassName);
+                }
+            }
+
+            return serviceClassNames;
+        } catch (IOException ex) {
+            logger.warn("Failed to load warm-up profile from {}", path, ex);
+            return Collections.emptyList();
+        }
+    }
+
+    public @NotNull Path getPath() {
+        return path;
+    }
+
+    private static @NotNull ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : WarmupProfile.class.getClassLoader();
+    }
+}
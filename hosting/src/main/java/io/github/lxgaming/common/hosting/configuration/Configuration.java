@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * An immutable view of layered configuration values.
+ * <p>
+ * Keys are made up of {@code .} separated segments which are matched case-insensitively with {@code -} and
+ * {@code _} ignored, so {@code database.pool-size}, {@code database.poolSize} and {@code DATABASE__POOL_SIZE}
+ * refer to the same value.
+ */
+public interface Configuration {
+
+    /**
+     * Gets the value for {@code key}.
+     *
+     * @param key the key
+     * @return the value or {@code null} if {@code key} has no value
+     */
+    @Nullable String getValue(@NotNull String key);
+
+    /**
+     * Gets the values under {@code section}, keys are relative to {@code section}.
+     *
+     * @param section the section
+     * @return the section {@link Configuration}
+     */
+    @NotNull Configuration getSection(@NotNull String section);
+
+    /**
+     * Gets the normalized keys of every value.
+     *
+     * @return the keys
+     */
+    @NotNull Set<String> getKeys();
+
+    /**
+     * Binds this configuration to a new instance of {@code type}.
+     *
+     * @param <T>  the type
+     * @param type the type
+     * @return the bound instance
+     * @throws IllegalArgumentException if {@code type} cannot be bound or a value cannot be converted
+     * @see ConfigurationBinder
+     */
+    default <T> @NotNull T bind(@NotNull Class<T> type) {
+        return ConfigurationBinder.of(type).bind(this);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Binds {@link Configuration} to instances of a type.
+ * <p>
+ * The fields, setters and converters of a type are resolved once when its binder is created, binding only invokes
+ * the cached {@link MethodHandle}s. Every non-static, non-transient field is bound from the key matching its name,
+ * fields without a value keep the value assigned by the no-args constructor. Fields which are not a scalar type are
+ * bound from the section matching their name.
+ * <p>
+ * Supported scalar types are {@link String}, primitives and their wrappers, enums, {@link Duration} and
+ * {@link Path}.
+ *
+ * @param <T> the bound type
+ */
+public final class ConfigurationBinder<T> {
+
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = createConverters();
+    private static final ClassValue<ConfigurationBinder<?>> BINDERS = new ClassValue<ConfigurationBinder<?>>() {
+
+        @Override
+        protected ConfigurationBinder<?> computeValue(Class<?> type) {
+            return new ConfigurationBinder<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Property[] properties;
+
+    private ConfigurationBinder(@NotNull Class<T> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isArray() || type.isPrimitive()) {
+            throw new IllegalArgumentException(String.format("%s cannot be bound", type));
+        }
+
+        this.type = type;
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalArgumentException(String.format("%s does not have an accessible no-args constructor", type), ex);
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Class<?> currentClass = type; currentClass != null && currentClass != Object.class; currentClass = currentClass.getSuperclass()) {
+            for (Field field : currentClass.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+
+                if (Modifier.isFinal(modifiers)) {
+                    throw new IllegalArgumentException(String.format("%s.%s cannot be bound as it is final", type.getName(), field.getName()));
+                }
+
+                properties.add(new Property(field));
+            }
+        }
+
+        this.properties = properties.toArray(new Property[0]);
+    }
+
+    /**
+     * Gets the binder for {@code type}, creating it on first use.
+     *
+     * @param <T>  the type
+     * @param type the type
+     * @return the {@link ConfigurationBinder}
+     * @throws IllegalArgumentException if {@code type} cannot be bound
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull ConfigurationBinder<T> of(@NotNull Class<T> type) {
+        return (ConfigurationBinder<T>) BINDERS.get(type);
+    }
+
+    /**
+     * Binds {@code configuration} to a new instance.
+     *
+     * @param configuration the {@link Configuration}
+     * @return the bound instance
+     * @throws IllegalArgumentException if a value cannot be converted
+     */
+    public @NotNull T bind(@NotNull Configuration configuration) {
+        Object instance;
+        try {
+            instance = constructor.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException(String.format("Failed to create %s", type), t);
+        }
+
+        for (Property property : properties) {
+            Object value = property.getValue(configuration);
+            if (value == null) {
+                continue;
+            }
+
+            try {
+                property.setter.invokeExact(instance, value);
+            } catch (Throwable t) {
+                throw new IllegalStateException(String.format("Failed to set %s.%s", type.getName(), property.name), t);
+            }
+        }
+
+        return type.cast(instance);
+    }
+
+    public @NotNull Class<T> getType() {
+        return type;
+    }
+
+    private static @Nullable Function<String, Object> getConverter(@NotNull Class<?> type) {
+        if (type.isEnum()) {
+            return value -> {
+                for (Object constant : type.getEnumConstants()) {
+                    if (((Enum<?>) constant).name().equalsIgnoreCase(value)) {
+                        return constant;
+                    }
+                }
+
+                throw new IllegalArgumentException(String.format("No constant '%s' in %s", value, type));
+            };
+        }
+
+        return CONVERTERS.get(type);
+    }
+
+    private static @NotNull Map<Class<?>, Function<String, Object>> createConverters() {
+        Map<Class<?>, Function<String, Object>> converters = new HashMap<>();
+        converters.put(String.class, value -> value);
+        converters.put(boolean.class, ConfigurationBinder::parseBoolean);
+        converters.put(Boolean.class, ConfigurationBinder::parseBoolean);
+        converters.put(byte.class, Byte::valueOf);
+        converters.put(Byte.class, Byte::valueOf);
+        converters.put(short.class, Short::valueOf);
+        converters.put(Short.class, Short::valueOf);
+        converters.put(int.class, Integer::valueOf);
+        converters.put(Integer.class, Integer::valueOf);
+        converters.put(long.class, Long::valueOf);
+        converters.put(Long.class, Long::valueOf);
+        converters.put(float.class, Float::valueOf);
+        converters.put(Float.class, Float::valueOf);
+        converters.put(double.class, Double::valueOf);
+        converters.put(Double.class, Double::valueOf);
+        converters.put(char.class, ConfigurationBinder::parseCharacter);
+        converters.put(Character.class, ConfigurationBinder::parseCharacter);
+        converters.put(Duration.class, Duration::parse);
+        converters.put(Path.class, value -> Paths.get(value));
+        return converters;
+    }
+
+    private static @NotNull Boolean parseBoolean(@NotNull String value) {
+        String lowerValue = value.trim().toLowerCase(Locale.ROOT);
+        if (lowerValue.equals("true")) {
+            return Boolean.TRUE;
+        }
+
+        if (lowerValue.equals("false")) {
+            return Boolean.FALSE;
+        }
+
+        throw new IllegalArgumentException(String.format("'%s' is not a boolean", value));
+    }
+
+    private static @NotNull Character parseCharacter(@NotNull String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException(String.format("'%s' is not a single character", value));
+        }
+
+        return value.charAt(0);
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final Class<?> type;
+        private final MethodHandle setter;
+        private final Function<String, Object> converter;
+
+        private Property(@NotNull Field field) {
+            this.name = field.getName();
+            this.type = field.getType();
+            this.converter = getConverter(type);
+            if (converter == null && (type.isInterface() || type.isArray() || type.isPrimitive())) {
+                throw new IllegalArgumentException(String.format("%s.%s of %s cannot be bound", field.getDeclaringClass().getName(), name, type));
+            }
+
+            try {
+                field.setAccessible(true);
+                this.setter = MethodHandles.lookup().unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException ex) {
+                throw new IllegalArgumentException(String.format("%s.%s is not accessible", field.getDeclaringClass().getName(), name), ex);
+            }
+        }
+
+        private @Nullable Object getValue(@NotNull Configuration configuration) {
+            if (converter == null) {
+                Configuration section = configuration.getSection(name);
+                return !section.getKeys().isEmpty() ? of(type).bind(section) : null;
+            }
+
+            String value = configuration.getValue(name);
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                return converter.apply(type == String.class ? value : value.trim());
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException(String.format("Cannot convert '%s' for '%s' to %s", value, name, type), ex);
+            }
+        }
+    }
+}
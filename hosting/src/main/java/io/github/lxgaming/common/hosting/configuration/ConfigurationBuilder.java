@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ConfigurationBuilder {
+
+    protected final List<ConfigurationSource> sources;
+
+    public ConfigurationBuilder() {
+        this.sources = new ArrayList<>();
+    }
+
+    /**
+     * Loads every {@link ConfigurationSource} in order, later sources take precedence over earlier sources.
+     *
+     * @return the {@link Configuration}
+     * @throws UncheckedIOException if a {@link ConfigurationSource} cannot be read
+     */
+    public @NotNull Configuration build() {
+        Map<String, String> values = new HashMap<>();
+        for (ConfigurationSource source : sources) {
+            try {
+                for (Map.Entry<String, String> entry : source.load().entrySet()) {
+                    values.put(ConfigurationImpl.normalize(entry.getKey()), entry.getValue());
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Encountered an error while loading configuration", ex);
+            }
+        }
+
+        return new ConfigurationImpl(values);
+    }
+
+    public @NotNull ConfigurationBuilder addSource(@NotNull ConfigurationSource source) {
+        sources.add(source);
+        return this;
+    }
+
+    public @NotNull ConfigurationBuilder addSources(@NotNull ConfigurationBuilder builder) {
+        sources.addAll(builder.sources);
+        return this;
+    }
+
+    public @NotNull ConfigurationBuilder addProperties(@NotNull Path path) {
+        return addSource(new PropertiesConfigurationSource(path));
+    }
+
+    /**
+     * Add the environment variables, {@code __} separates sections so {@code DATABASE__POOL_SIZE} is bound to
+     * {@code database.poolSize}.
+     *
+     * @return this {@link ConfigurationBuilder} for chaining
+     */
+    public @NotNull ConfigurationBuilder addEnvironmentVariables() {
+        return addSource(() -> {
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+                values.put(entry.getKey().replace("__", "."), entry.getValue());
+            }
+
+            return values;
+        });
+    }
+
+    public @NotNull ConfigurationBuilder addSystemProperties() {
+        return addSource(() -> {
+            Map<String, String> values = new HashMap<>();
+            for (String key : System.getProperties().stringPropertyNames()) {
+                values.put(key, System.getProperty(key));
+            }
+
+            return values;
+        });
+    }
+
+    public @NotNull List<ConfigurationSource> getSources() {
+        return Collections.unmodifiableList(sources);
+    }
+}
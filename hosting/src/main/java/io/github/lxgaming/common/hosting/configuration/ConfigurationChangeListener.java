@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified after the {@link Configuration} has been reloaded, services registered as
+ * {@link ConfigurationChangeListener} are notified automatically.
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener {
+
+    /**
+     * Triggered once the reloaded {@link Configuration} and every bound configuration object have been swapped in,
+     * resolving a bound configuration object from the service provider returns the reloaded instance.
+     *
+     * @param configuration the reloaded {@link Configuration}
+     */
+    void onConfigurationChanged(@NotNull Configuration configuration);
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ConfigurationImpl implements Configuration {
+
+    protected final Map<String, String> values;
+    protected final String prefix;
+
+    public ConfigurationImpl(@NotNull Map<String, String> values) {
+        this(values, "");
+    }
+
+    protected ConfigurationImpl(@NotNull Map<String, String> values, @NotNull String prefix) {
+        this.values = values;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public @Nullable String getValue(@NotNull String key) {
+        return values.get(prefix + normalize(key));
+    }
+
+    @Override
+    public @NotNull Configuration getSection(@NotNull String section) {
+        String normalizedSection = normalize(section);
+        if (normalizedSection.isEmpty()) {
+            return this;
+        }
+
+        return new ConfigurationImpl(values, prefix + normalizedSection + ".");
+    }
+
+    @Override
+    public @NotNull Set<String> getKeys() {
+        if (prefix.isEmpty()) {
+            return Collections.unmodifiableSet(values.keySet());
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (String key : values.keySet()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key.substring(prefix.length()));
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Normalizes {@code key} by lower casing it and removing {@code -} and {@code _}.
+     *
+     * @param key the key
+     * @return the normalized key
+     */
+    public static @NotNull String normalize(@NotNull String key) {
+        StringBuilder stringBuilder = new StringBuilder(key.length());
+        for (int index = 0; index < key.length(); index++) {
+            char character = key.charAt(index);
+            if (character != '-' && character != '_') {
+                stringBuilder.append(Character.toLowerCase(character));
+            }
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A layer of configuration values, later layers take precedence over earlier layers.
+ */
+@FunctionalInterface
+public interface ConfigurationSource {
+
+    /**
+     * Loads the values of this layer.
+     *
+     * @return the values
+     * @throws IOException if the values cannot be read
+     */
+    @NotNull Map<String, String> load() throws IOException;
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import io.github.lxgaming.common.concurrent.BasicThreadFactory;
+import io.github.lxgaming.common.hosting.HostedService;
+import io.github.lxgaming.common.inject.ServiceDescriptor;
+import io.github.lxgaming.common.inject.ServiceProviderImpl;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the {@link Configuration} when a properties file of a {@link PropertiesConfigurationSource} changes.
+ * <p>
+ * Changes are coalesced until no further change has been seen for the reload delay. The reloaded
+ * {@link Configuration} and every configuration object bound through
+ * {@link io.github.lxgaming.common.hosting.HostServiceCollection#addConfiguration(String, Class)} are swapped in
+ * as a single replacement, readers are never blocked and keep any instance they have already resolved.
+ */
+public class ConfigurationWatcher implements HostedService {
+
+    protected final Logger logger;
+    protected final ServiceProviderImpl serviceProvider;
+    protected final ConfigurationBuilder configurationBuilder;
+    protected final Map<Class<?>, String> configurationSections;
+    protected final long reloadDelay;
+    protected final List<ConfigurationChangeListener> listeners;
+    protected WatchService watchService;
+    protected Thread thread;
+
+    public ConfigurationWatcher(@NotNull ServiceProviderImpl serviceProvider, @NotNull ConfigurationBuilder configurationBuilder,
+                                @NotNull Map<Class<?>, String> configurationSections, long reloadDelay) {
+        this.logger = LoggerFactory.getLogger(getClass());
+        this.serviceProvider = serviceProvider;
+        this.configurationBuilder = configurationBuilder;
+        this.configurationSections = configurationSections;
+        this.reloadDelay = reloadDelay;
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void start() {
+        Set<Path> directories = new HashSet<>();
+        for (Path path : getPaths()) {
+            directories.add(path.getParent());
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to watch configuration", ex);
+        }
+
+        thread = BasicThreadFactory.builder()
+            .daemon(true)
+            .format("Configuration Watcher Thread #%d")
+            .build()
+            .newThread(this::watch);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException ex) {
+            logger.warn("Encountered an error while closing the configuration watcher", ex);
+        }
+
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(1L));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public void addListener(@NotNull ConfigurationChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull ConfigurationChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reloads the {@link Configuration}, swaps in the reloaded objects and notifies listeners. If the
+     * {@link Configuration} cannot be loaded or bound nothing is swapped in.
+     *
+     * @throws Exception if an exception was encountered while reloading
+     */
+    public void reload() throws Exception {
+        Configuration configuration = configurationBuilder.build();
+
+        List<ServiceDescriptor> descriptors = new ArrayList<>(configurationSections.size() + 1);
+        descriptors.add(new ServiceDescriptor(Configuration.class, configuration));
+        for (Map.Entry<Class<?>, String> entry : configurationSections.entrySet()) {
+            Object instance = ConfigurationBinder.of(entry.getKey()).bind(configuration.getSection(entry.getValue()));
+            descriptors.add(new ServiceDescriptor(entry.getKey(), instance));
+        }
+
+        serviceProvider.replaceServices(descriptors);
+        logger.info("Configuration reloaded");
+
+        List<ConfigurationChangeListener> listeners = new ArrayList<>(serviceProvider.getServices(ConfigurationChangeListener.class));
+        listeners.addAll(this.listeners);
+        for (ConfigurationChangeListener listener : listeners) {
+            try {
+                listener.onConfigurationChanged(configuration);
+            } catch (Exception ex) {
+                logger.error("Encountered an error while notifying {}", listener.getClass().getName(), ex);
+            }
+        }
+    }
+
+    protected void watch() {
+        Set<Path> paths = new HashSet<>(getPaths());
+        try {
+            while (true) {
+                if (!poll(watchService.take(), paths)) {
+                    continue;
+                }
+
+                // Coalesce bursts of events, editors commonly write a file several times when saving.
+                WatchKey key;
+                while ((key = watchService.poll(reloadDelay, TimeUnit.MILLISECONDS)) != null) {
+                    poll(key, paths);
+                }
+
+                try {
+                    reload();
+                } catch (Exception ex) {
+                    logger.error("Encountered an error while reloading configuration", ex);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException ex) {
+            // no-op
+        }
+    }
+
+    protected boolean poll(@NotNull WatchKey key, @NotNull Set<Path> paths) {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (paths.contains(directory.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+
+        key.reset();
+        return changed;
+    }
+
+    protected @NotNull List<Path> getPaths() {
+        List<Path> paths = new ArrayList<>();
+        for (ConfigurationSource source : configurationBuilder.getSources()) {
+            if (source instanceof PropertiesConfigurationSource) {
+                paths.add(((PropertiesConfigurationSource) source).getPath().toAbsolutePath().normalize());
+            }
+        }
+
+        return paths;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emits Java Flight Recorder events for {@link Host} starts and stops, and for each {@link HostMetrics.Phase}.
+ * <p>
+ * The {@code begin} methods return {@code null} when the event is not enabled, so nothing is recorded unless a
+ * recording has enabled it.
+ */
+final class HostEvents {
+
+    private HostEvents() {
+    }
+
+    static @Nullable Object beginLifecycle() {
+        HostLifecycleEvent event = new HostLifecycleEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+        return event;
+    }
+
+    static void endLifecycle(@Nullable Object object, @NotNull String action, boolean failed) {
+        if (object == null) {
+            return;
+        }
+
+        HostLifecycleEvent event = (HostLifecycleEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    static @Nullable Object beginPhase() {
+        HostPhaseEvent event = new HostPhaseEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+        return event;
+    }
+
+    static void endPhase(@Nullable Object object, @NotNull HostMetrics.Phase phase, @NotNull String name, @Nullable Throwable failure) {
+        if (object == null) {
+            return;
+        }
+
+        HostPhaseEvent event = (HostPhaseEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase.getName();
+            event.name = name;
+            event.failure = failure != null ? failure.toString() : null;
+            event.commit();
+        }
+    }
+}
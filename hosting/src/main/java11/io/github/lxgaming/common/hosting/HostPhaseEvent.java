@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.lxgaming.common.HostPhase")
+@Label("Host Phase")
+@Category({"Common", "Hosting"})
+@Description("Lifecycle hook or hosted service start or stop")
+final class HostPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Name")
+    String name;
+
+    @Label("Failure")
+    String failure;
+}
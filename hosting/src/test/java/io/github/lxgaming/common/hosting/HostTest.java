@@ -16,12 +16,46 @@
 
 package io.github.lxgaming.common.hosting;
 
+import io.github.lxgaming.common.concurrent.CancellationToken;
+import io.github.lxgaming.common.hosting.configuration.Configuration;
+import io.github.lxgaming.common.inject.ServiceProvider;
+import io.github.lxgaming.common.inject.ServiceProviderImpl;
+import io.github.lxgaming.common.inject.ServiceScope;
+import io.github.lxgaming.common.task.Task;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class HostTest {
 
@@ -51,10 +85,835 @@ void validateHost() throws Exception {
             host = builder.build();
             host.start();
             host.stop();
+
+            HostMetrics hostMetrics = host.getServiceProvider().getRequiredService(HostMetrics.class);
+            Assertions.assertNotNull(hostMetrics.getTimeToReady());
+            Assertions.assertEquals(4, hostMetrics.getTimings().size());
+            Assertions.assertEquals(1, hostMetrics.getTimings(HostMetrics.Phase.STARTING_HOOK).size());
+            Assertions.assertTrue(hostMetrics.getFailures().isEmpty());
         } finally {
             if (host != null) {
                 host.close();
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateHostedServiceOrder() throws Exception {
+        for (int parallelism : new int[]{1, 4}) {
+            List<String> events = Collections.synchronizedList(new ArrayList<>());
+            Host host = null;
+            try {
+                HostBuilder builder = Host.createBuilder();
+                builder.configureEnvironment(environment -> environment.setHostedServiceParallelism(parallelism));
+                builder.configureServices(services -> {
+                    services.addSingleton(List.class, events);
+                    services.addHostedService(FirstHostedService.class, FirstHostedService.class);
+                    services.addHostedService(SecondHostedService.class, SecondHostedService.class);
+                    services.addHostedService(ThirdHostedService.class, ThirdHostedService.class);
+                });
+
+                host = builder.build();
+                host.start();
+                host.stop();
+            } finally {
+                if (host != null) {
+                    host.close();
+                }
+            }
+
+            Assertions.assertEquals(6, events.size());
+            Assertions.assertTrue(events.indexOf("start First") < events.indexOf("start Second"));
+            Assertions.assertTrue(events.indexOf("stop Second") < events.indexOf("stop First"));
+            if (parallelism == 1) {
+                Assertions.assertEquals(Arrays.asList(
+                    "start First", "start Second", "start Third",
+                    "stop Third", "stop Second", "stop First"
+                ), events);
+            }
+        }
+    }
+
+    @Test
+    void validateShutdownTimeout() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> environment.setShutdownTimeout(100L));
+        builder.configureServices(services -> services.addService(HungHostedService.class));
+
+        Host host = builder.build();
+        try {
+            host.start();
+
+            long startTime = System.nanoTime();
+            Exception ex = Assertions.assertThrows(Exception.class, host::stop);
+            Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 5000L);
+            Assertions.assertEquals(1, ex.getSuppressed().length);
+            Assertions.assertInstanceOf(TimeoutException.class, ex.getSuppressed()[0]);
+
+            HostMetrics hostMetrics = host.getServiceProvider().getRequiredService(HostMetrics.class);
+            Assertions.assertEquals(1, hostMetrics.getFailures().size());
+            Assertions.assertEquals(HostMetrics.Phase.STOP, hostMetrics.getFailures().get(0).getPhase());
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateBackgroundService() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureServices(services -> services.addHostedService(CountingBackgroundService.class, CountingBackgroundService.class));
+
+        Host host = builder.build();
+        try {
+            host.start();
+
+            CountingBackgroundService service = host.getServiceProvider().getRequiredService(CountingBackgroundService.class);
+            Assertions.assertTrue(service.started.tryAcquire(3, 5L, TimeUnit.SECONDS));
+
+            CancellationToken cancellationToken = service.cancellationToken;
+            host.stop();
+            Assertions.assertEquals(0, service.running.get());
+            Assertions.assertTrue(cancellationToken.isCancellationRequested());
+            Assertions.assertFalse(service.cancellationToken.isCancellationRequested());
+
+            host.start();
+            Assertions.assertTrue(service.started.tryAcquire(3, 5L, TimeUnit.SECONDS));
+
+            host.stop();
+            Assertions.assertEquals(0, service.running.get());
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateHookNames() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> {
+            environment.addStartingHook("Named", () -> {
+            });
+            environment.addStartingHook(() -> {
+            });
+        });
+
+        Host host = builder.build();
+        try {
+            host.start();
+
+            List<HostMetrics.Timing> timings = host.getServiceProvider().getRequiredService(HostMetrics.class).getTimings(HostMetrics.Phase.STARTING_HOOK);
+            Assertions.assertEquals(2, timings.size());
+            Assertions.assertEquals("Named", timings.get(0).getName());
+            Assertions.assertEquals("Starting Hook #2", timings.get(1).getName());
+            host.stop();
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateExecutorsAfterRestart() throws Exception {
+        Host host = Host.createBuilder().build();
+        try {
+            host.start();
+            HostExecutors hostExecutors = host.getServiceProvider().getRequiredService(HostExecutors.class);
+            Assertions.assertEquals(1, (int) hostExecutors.getCpuExecutor().submit(() -> 1).get());
+            host.stop();
+
+            host.start();
+            Assertions.assertEquals(2, (int) hostExecutors.getCpuExecutor().submit(() -> 2).get());
+            Assertions.assertEquals(3, (int) hostExecutors.getScheduledExecutor().schedule(() -> 3, 0L, TimeUnit.MILLISECONDS).get());
+            host.stop();
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateHealth() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureServices(services -> {
+            services.addHostedService(WarmingHostedService.class, WarmingHostedService.class);
+            services.addHealthProbe(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        });
+
+        Host host = builder.build();
+        try {
+            HostHealthImpl hostHealth = (HostHealthImpl) host.getServiceProvider().getRequiredService(HostHealth.class);
+            hostHealth.setCacheDuration(0L, TimeUnit.MILLISECONDS);
+            Assertions.assertFalse(hostHealth.isReady());
+
+            host.start();
+
+            InetSocketAddress address = host.getServiceProvider().getRequiredService(HealthProbeService.class).getAddress();
+            Assertions.assertNotNull(address);
+            Assertions.assertFalse(hostHealth.isReady());
+            Assertions.assertEquals(503, getResponseCode(address, "/health/ready"));
+            Assertions.assertEquals(200, getResponseCode(address, "/health/live"));
+
+            host.getServiceProvider().getRequiredService(WarmingHostedService.class).ready = true;
+            Assertions.assertTrue(hostHealth.isReady());
+            Assertions.assertEquals(200, getResponseCode(address, "/health/ready"));
+
+            host.stop();
+            Assertions.assertFalse(hostHealth.isReady());
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateInFlightDrain() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> environment.setShutdownTimeout(5000L));
+        builder.configureServices(services -> services.addHostedService(DrainingHostedService.class, DrainingHostedService.class));
+
+        Host host = builder.build();
+        try {
+            host.start();
+
+            InFlightTracker inFlightTracker = host.getServiceProvider().getRequiredService(InFlightTracker.class);
+            Assertions.assertTrue(inFlightTracker.tryBegin());
+            Thread thread = new Thread(() -> {
+                try {
+                    Thread.sleep(200L);
+                } catch (InterruptedException ex) {
+                    // no-op
+                } finally {
+                    inFlightTracker.end();
+                }
+            });
+            thread.start();
+
+            host.stop();
+            Assertions.assertEquals(0L, host.getServiceProvider().getRequiredService(DrainingHostedService.class).inFlight);
+            Assertions.assertFalse(inFlightTracker.tryBegin());
+            Assertions.assertEquals(0L, inFlightTracker.getInFlight());
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateExecutors() throws Exception {
+        Host host = Host.createBuilder().build();
+        try {
+            host.start();
+
+            HostExecutors hostExecutors = host.getServiceProvider().getRequiredService(HostExecutors.class);
+            Assertions.assertSame(hostExecutors.getCpuExecutor(), hostExecutors.getCpuExecutor());
+            Assertions.assertSame(hostExecutors.getExecutor("Custom", 2), hostExecutors.getExecutor("Custom", 4));
+            Assertions.assertEquals(42, (int) hostExecutors.getIoExecutor().submit(() -> 42).get());
+            Assertions.assertEquals(1, (int) hostExecutors.getScheduledExecutor().schedule(() -> 1, 10L, TimeUnit.MILLISECONDS).get());
+
+            host.stop();
+            for (InstrumentedExecutor executor : hostExecutors.getExecutors()) {
+                Assertions.assertTrue(executor.isShutdown());
+            }
+
+            Assertions.assertEquals(4, hostExecutors.getExecutors().size());
+            Assertions.assertThrows(IllegalStateException.class, () -> hostExecutors.getExecutor("Late", 1));
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateDeferredStart() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureServices(services -> {
+            services.addHostedService(SlowDeferredHostedService.class, SlowDeferredHostedService.class);
+            services.addHostedService(FailingDeferredHostedService.class, FailingDeferredHostedService.class);
+        });
+
+        Host host = builder.build();
+        try {
+            host.start();
+
+            SlowDeferredHostedService service = host.getServiceProvider().getRequiredService(SlowDeferredHostedService.class);
+            Assertions.assertTrue(host.getServiceProvider().getRequiredService(HostHealth.class).isReady());
+            Assertions.assertFalse(service.started);
+
+            service.latch.countDown();
+            host.stop();
+            Assertions.assertTrue(service.started);
+            Assertions.assertTrue(service.stopped);
+            Assertions.assertFalse(host.getServiceProvider().getRequiredService(FailingDeferredHostedService.class).stopped);
+
+            List<HostMetrics.Timing> failures = host.getServiceProvider().getRequiredService(HostMetrics.class).getFailures();
+            Assertions.assertEquals(1, failures.size());
+            Assertions.assertEquals(FailingDeferredHostedService.class.getName(), failures.get(0).getName());
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateFailedStart() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> environment.setHostedServiceParallelism(1));
+        builder.configureServices(services -> {
+            services.addHostedService(RestartedHostedService.class, RestartedHostedService.class);
+            services.addHostedService(FailingHostedService.class, FailingHostedService.class);
+        });
+
+        HostImpl host = (HostImpl) builder.build();
+        try {
+            IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, host::start);
+            Assertions.assertEquals("Start failure", ex.getMessage());
+
+            HostEnvironmentImpl hostEnvironment = (HostEnvironmentImpl) host.getServiceProvider().getRequiredService(HostEnvironment.class);
+            Assertions.assertEquals(Arrays.asList("start", "stop"), host.getServiceProvider().getRequiredService(RestartedHostedService.class).events);
+            Assertions.assertTrue(host.objectNames.isEmpty());
+            Assertions.assertTrue(((HostExecutorsImpl) hostEnvironment.getHostExecutors()).shutdown);
+            Assertions.assertFalse(hostEnvironment.getInFlightTracker().isAccepting());
+        } finally {
+            host.close();
+        }
+    }
+
+    public static class FailingHostedService implements HostedService {
+
+        @Override
+        public void start() {
+            throw new IllegalStateException("Start failure");
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+
+    @Deferred
+    public static class SlowDeferredHostedService implements HostedService {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile boolean started;
+        private volatile boolean stopped;
+
+        @Override
+        public void start() {
+            try {
+                latch.await();
+                started = true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+    }
+
+    @Deferred
+    public static class FailingDeferredHostedService implements HostedService {
+
+        private volatile boolean stopped;
+
+        @Override
+        public void start() {
+            throw new IllegalStateException("Deferred failure");
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+    }
+
+    @Test
+    void validateWarmupProfile() throws Exception {
+        Path contentRootPath = Files.createTempDirectory("warmup");
+        for (int run = 0; run < 2; run++) {
+            WarmService.created.set(false);
+
+            HostBuilder builder = Host.createBuilder();
+            builder.configureEnvironment(environment -> {
+                environment.setContentRootPath(contentRootPath);
+                environment.setWarmupProfileDuration(TimeUnit.MINUTES.toMillis(1L));
+            });
+            builder.configureServices(services -> {
+                services.addSingleton(WarmService.class);
+                services.addTransient(ColdService.class);
+            });
+
+            Host host = builder.build();
+            try {
+                host.start();
+                Assertions.assertEquals(run != 0, WarmService.created.get());
+
+                host.getServiceProvider().getRequiredService(WarmService.class);
+                host.getServiceProvider().getRequiredService(ColdService.class);
+                host.stop();
+            } finally {
+                host.close();
+            }
+
+            List<String> lines = Files.readAllLines(contentRootPath.resolve("warmup.profile"));
+            Assertions.assertTrue(lines.contains(WarmService.class.getName()));
+            Assertions.assertFalse(lines.contains(ColdService.class.getName()));
+        }
+    }
+
+    @Test
+    void validateRestart() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        RestartableHost host = Host.createRestartable(() -> {
+            builds.incrementAndGet();
+            HostBuilder builder = Host.createBuilder();
+            builder.configureServices(services -> services.addHostedService(RestartedHostedService.class, RestartedHostedService.class));
+            return builder;
+        });
+
+        try {
+            host.start();
+            Host previousHost = host.getHost();
+            RestartedHostedService previousService = host.getServiceProvider().getRequiredService(RestartedHostedService.class);
+            Assertions.assertEquals(Collections.singletonList("start"), previousService.events);
+
+            host.restart();
+            Assertions.assertEquals(2, builds.get());
+            Assertions.assertNotSame(previousHost, host.getHost());
+            Assertions.assertEquals(((HostImpl) previousHost).getName(), ((HostImpl) host.getHost()).getName());
+            Assertions.assertEquals(Arrays.asList("start", "stop"), previousService.events);
+
+            RestartedHostedService service = host.getServiceProvider().getRequiredService(RestartedHostedService.class);
+            Assertions.assertNotSame(previousService, service);
+            Assertions.assertEquals(Collections.singletonList("start"), service.events);
+
+            host.stop();
+            Assertions.assertEquals(Arrays.asList("start", "stop"), service.events);
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateWaitForShutdownAcrossRestart() throws Exception {
+        RestartableHost host = Host.createRestartable(Host::createBuilder);
+        try {
+            host.start();
+
+            Thread thread = new Thread(host::waitForShutdown, "Wait Thread");
+            thread.start();
+            for (int index = 0; index < 3; index++) {
+                host.restart();
+            }
+
+            thread.join(100L);
+            Assertions.assertTrue(thread.isAlive());
+
+            host.getServiceProvider().getRequiredService(HostEnvironment.class).stop();
+            thread.join(5000L);
+            Assertions.assertFalse(thread.isAlive());
+
+            host.stop();
+        } finally {
+            host.close();
+        }
+    }
+
+    @Test
+    void validateTemplate() throws Exception {
+        AtomicInteger started = new AtomicInteger();
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> environment.addStartedHook(started::incrementAndGet));
+        builder.configureServices(services -> services.addHostedService(RestartedHostedService.class, RestartedHostedService.class));
+
+        HostTemplate template = builder.buildTemplate();
+        Assertions.assertSame(template, builder.buildTemplate());
+        Assertions.assertThrows(IllegalStateException.class, () -> builder.configureServices(services -> services.addSingleton(WarmService.class)));
+
+        Host firstHost = template.build();
+        Host secondHost = template.build();
+        try {
+            firstHost.start();
+            secondHost.start();
+            Assertions.assertEquals(2, started.get());
+
+            ServiceProvider firstProvider = firstHost.getServiceProvider();
+            ServiceProvider secondProvider = secondHost.getServiceProvider();
+            Assertions.assertNotSame(firstProvider.getRequiredService(HostEnvironment.class), secondProvider.getRequiredService(HostEnvironment.class));
+            Assertions.assertNotSame(firstProvider.getRequiredService(HostMetrics.class), secondProvider.getRequiredService(HostMetrics.class));
+            Assertions.assertNotSame(firstProvider.getRequiredService(RestartedHostedService.class), secondProvider.getRequiredService(RestartedHostedService.class));
+            Assertions.assertSame(firstProvider.getRequiredService(Configuration.class), secondProvider.getRequiredService(Configuration.class));
+            Assertions.assertSame(
+                ((ServiceProviderImpl) firstProvider).getServiceDescriptors(RestartedHostedService.class).get(0),
+                ((ServiceProviderImpl) secondProvider).getServiceDescriptors(RestartedHostedService.class).get(0)
+            );
+
+            firstHost.stop();
+            Assertions.assertEquals(Arrays.asList("start", "stop"), firstProvider.getRequiredService(RestartedHostedService.class).events);
+            Assertions.assertEquals(Collections.singletonList("start"), secondProvider.getRequiredService(RestartedHostedService.class).events);
+            secondHost.stop();
+        } finally {
+            firstHost.close();
+            secondHost.close();
+        }
+    }
+
+    @Test
+    void validateMBeans() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureServices(services -> services.addHostedService(RestartedHostedService.class, RestartedHostedService.class));
+
+        HostImpl host = (HostImpl) builder.build();
+        MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            host.start();
+            Assertions.assertEquals(2, host.objectNames.size());
+
+            ObjectName hostName = host.objectNames.get(0);
+            ObjectName providerName = host.objectNames.get(1);
+            Assertions.assertEquals(Boolean.TRUE, mbeanServer.getAttribute(hostName, "Ready"));
+            Assertions.assertNotEquals(-1L, mbeanServer.getAttribute(hostName, "TimeToReady"));
+
+            try (ServiceScope scope = host.getServiceProvider().createScope()) {
+                Assertions.assertEquals(1, mbeanServer.getAttribute(providerName, "ScopeCount"));
+            }
+
+            Assertions.assertEquals(0, mbeanServer.getAttribute(providerName, "ScopeCount"));
+            host.stop();
+            Assertions.assertEquals(Boolean.FALSE, mbeanServer.getAttribute(hostName, "Ready"));
+        } finally {
+            host.close();
+        }
+
+        Assertions.assertTrue(host.objectNames.isEmpty());
+    }
+
+    @Test
+    void validateMetricsExporter() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        builder.configureServices(services -> {
+            services.addHostedService(RestartedHostedService.class, RestartedHostedService.class);
+            services.addMetricsExporter(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        });
+
+        Host host = builder.build();
+        try {
+            host.start();
+            host.getServiceProvider().getRequiredService(HostExecutors.class).getIoExecutor().submit(() -> {
+            }).get();
+
+            MetricsExporterService exporter = host.getServiceProvider().getRequiredService(MetricsExporterService.class);
+            exporter.addTask("Example \"Task\"", new ExampleTask());
+
+            InetSocketAddress address = exporter.getAddress();
+            Assertions.assertNotNull(address);
+            HttpURLConnection connection = (HttpURLConnection) new URL(String.format("http://%s:%d/metrics", address.getHostString(), address.getPort())).openConnection();
+            String body;
+            try (InputStream inputStream = connection.getInputStream()) {
+                body = new String(readAllBytes(inputStream), StandardCharsets.UTF_8);
+            } finally {
+                connection.disconnect();
+            }
+
+            Assertions.assertEquals(200, connection.getResponseCode());
+            Assertions.assertTrue(body.contains("# TYPE common_host_ready gauge\ncommon_host_ready 1\n"));
+            Assertions.assertTrue(body.contains("common_host_phase_seconds{phase=\"Start\",name=\"" + RestartedHostedService.class.getName() + "\",failed=\"false\"} "));
+            Assertions.assertTrue(body.contains("common_executor_pool_size{executor=\"" + HostExecutors.IO + "\"} 1\n"));
+            Assertions.assertTrue(body.contains("common_task_delay_seconds{task=\"Example \\\"Task\\\"\"} 1.500000000\n"));
+
+            host.stop();
+        } finally {
+            host.close();
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int read; (read = inputStream.read(buffer)) != -1; ) {
+            outputStream.write(buffer, 0, read);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    public static class ExampleTask extends Task {
+
+        public ExampleTask() {
+            setDelay(1500L, TimeUnit.MILLISECONDS);
+            setType(Type.DEFAULT);
+        }
+
+        @Override
+        public boolean prepare() {
+            return true;
+        }
+
+        @Override
+        public void execute() {
+        }
+    }
+
+    @Test
+    void validateMemoryPressure() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.configureServices(services -> services.addMemoryPressureMonitor(0.9D, 0.75D)));
+        builder.configureServices(services -> {
+            services.addMemoryPressureMonitor(1.0D, 1.0D);
+            services.addSingleton(MemoryPressureListener.class, RecordingMemoryPressureListener.class);
+        });
+
+        Host host = builder.build();
+        try {
+            host.start();
+
+            MemoryPressureService service = host.getServiceProvider().getRequiredService(MemoryPressureService.class);
+            Assertions.assertEquals(MemoryPressure.NORMAL, service.getPressure());
+
+            List<MemoryPressure> pressures = new ArrayList<>();
+            service.addListener(pressures::add);
+            service.setPressure(MemoryPressure.CRITICAL);
+            service.setPressure(MemoryPressure.CRITICAL);
+            Assertions.assertEquals(MemoryPressure.NORMAL, service.update());
+            Assertions.assertEquals(Arrays.asList(MemoryPressure.CRITICAL, MemoryPressure.NORMAL), pressures);
+
+            RecordingMemoryPressureListener listener = (RecordingMemoryPressureListener) host.getServiceProvider().getRequiredService(MemoryPressureListener.class);
+            Assertions.assertEquals(pressures, listener.pressures);
+
+            host.stop();
+        } finally {
+            host.close();
+        }
+    }
+
+    public static class RecordingMemoryPressureListener implements MemoryPressureListener {
+
+        private final List<MemoryPressure> pressures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onMemoryPressure(@NotNull MemoryPressure pressure) {
+            pressures.add(pressure);
+        }
+    }
+
+    @Test
+    void validateConcurrencyLimiter() throws Exception {
+        HostBuilder builder = Host.createBuilder();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.configureServices(services -> services.addConcurrencyLimiter(10, 20, 30)));
+        builder.configureServices(HostServiceCollection::addConcurrencyLimiter);
+        try (Host host = builder.build()) {
+            Assertions.assertInstanceOf(GradientConcurrencyLimiter.class, host.getServiceProvider().getRequiredService(ConcurrencyLimiter.class));
+        }
+
+        ManualClockConcurrencyLimiter limiter = new ManualClockConcurrencyLimiter(10, 1, 100);
+        List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (ConcurrencyLimiter.Permit permit; (permit = limiter.tryAcquire()) != null; ) {
+            permits.add(permit);
+        }
+
+        Assertions.assertEquals(10, permits.size());
+        Assertions.assertEquals(1L, limiter.getRejectedCount());
+        Assertions.assertEquals(10, limiter.getInFlight());
+
+        for (ConcurrencyLimiter.Permit permit : permits) {
+            permit.onIgnore();
+        }
+
+        Assertions.assertThrows(IllegalStateException.class, permits.get(0)::onIgnore);
+        Assertions.assertEquals(0, limiter.getInFlight());
+
+        // Steady latency with every permit in use grows the limit.
+        runWindows(limiter, 40, 100L);
+        int steadyLimit = limiter.getLimit();
+        Assertions.assertTrue(steadyLimit > 10, "Limit did not grow: " + steadyLimit);
+
+        // A latency spike shrinks the limit.
+        runWindows(limiter, 10, 1000L);
+        int spikeLimit = limiter.getLimit();
+        Assertions.assertTrue(spikeLimit < steadyLimit, "Limit did not shrink: " + spikeLimit);
+
+        // Dropped work backs off.
+        ConcurrencyLimiter.Permit droppedPermit = limiter.tryAcquire();
+        Assertions.assertNotNull(droppedPermit);
+        limiter.time += TimeUnit.MILLISECONDS.toNanos(100L);
+        droppedPermit.onDropped();
+        Assertions.assertTrue(limiter.getLimit() < spikeLimit, "Limit did not back off: " + limiter.getLimit());
+    }
+
+    private static void runWindows(@NotNull ManualClockConcurrencyLimiter limiter, int windows, long latency) {
+        for (int window = 0; window < windows; window++) {
+            List<ConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (ConcurrencyLimiter.Permit permit; (permit = limiter.tryAcquire()) != null; ) {
+                permits.add(permit);
+            }
+
+            limiter.time += TimeUnit.MILLISECONDS.toNanos(latency);
+            for (ConcurrencyLimiter.Permit permit : permits) {
+                permit.onSuccess();
+            }
+        }
+    }
+
+    public static class ManualClockConcurrencyLimiter extends GradientConcurrencyLimiter {
+
+        private long time;
+
+        public ManualClockConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+            super(initialLimit, minLimit, maxLimit);
+        }
+
+        @Override
+        protected long nanoTime() {
+            return time;
+        }
+    }
+
+    public static class RestartedHostedService implements HostedService {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void start() {
+            events.add("start");
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop");
+        }
+    }
+
+    public static class WarmService {
+
+        private static final AtomicBoolean created = new AtomicBoolean();
+
+        public WarmService() {
+            created.set(true);
+        }
+    }
+
+    public static class ColdService {
+    }
+
+    public static class DrainingHostedService implements HostedService {
+
+        private final InFlightTracker inFlightTracker;
+        private volatile long inFlight = -1L;
+
+        public DrainingHostedService(@NotNull InFlightTracker inFlightTracker) {
+            this.inFlightTracker = inFlightTracker;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+            inFlight = inFlightTracker.getInFlight();
+        }
+    }
+
+    private static int getResponseCode(@NotNull InetSocketAddress address, @NotNull String path) throws Exception {
+        URL url = new URL("http", address.getHostString(), address.getPort(), path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    public static class WarmingHostedService implements HostedService, HealthCheck {
+
+        private volatile boolean ready;
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+    }
+
+    public static class CountingBackgroundService extends BackgroundService {
+
+        private final Semaphore started;
+        private final AtomicInteger running;
+
+        public CountingBackgroundService(HostExecutors hostExecutors) {
+            super(hostExecutors, 3);
+            this.started = new Semaphore(0);
+            this.running = new AtomicInteger();
+        }
+
+        @Override
+        protected void execute(@NotNull CancellationToken cancellationToken) throws Exception {
+            running.incrementAndGet();
+            started.release();
+            try {
+                while (!cancellationToken.await(10L, TimeUnit.MILLISECONDS)) {
+                    Thread.yield();
+                }
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    public static class HungHostedService implements AsyncHostedService {
+
+        @Override
+        public @NotNull CompletableFuture<Void> startAsync() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public @NotNull CompletableFuture<Void> stopAsync() {
+            return new CompletableFuture<>();
+        }
+    }
+
+    public static abstract class RecordingHostedService implements HostedService {
+
+        private final List<String> events;
+        private final String name;
+
+        public RecordingHostedService(@NotNull List<String> events, @NotNull String name) {
+            this.events = events;
+            this.name = name;
+        }
+
+        @Override
+        public void start() {
+            events.add("start " + name);
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop " + name);
+        }
+    }
+
+    public static class FirstHostedService extends RecordingHostedService {
+
+        public FirstHostedService(@NotNull List<String> events) {
+            super(events, "First");
+        }
+    }
+
+    public static class SecondHostedService extends RecordingHostedService {
+
+        public SecondHostedService(@NotNull List<String> events, @NotNull FirstHostedService firstHostedService) {
+            super(events, "Second");
+        }
+    }
+
+    public static class ThirdHostedService extends RecordingHostedService {
+
+        public ThirdHostedService(@NotNull List<String> events) {
+            super(events, "Third");
+        }
+    }
+}
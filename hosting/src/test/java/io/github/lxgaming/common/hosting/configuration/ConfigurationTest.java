@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.hosting.configuration;
+
+import io.github.lxgaming.common.hosting.Host;
+import io.github.lxgaming.common.hosting.HostBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ConfigurationTest {
+
+    @Test
+    void validateBinding() {
+        Configuration configuration = new ConfigurationBuilder()
+            .addSource(() -> Collections.singletonMap("database.pool-size", "4"))
+            .addSource(() -> Collections.singletonMap("DATABASE.POOL_SIZE", "8"))
+            .addSource(() -> Collections.singletonMap("database.timeout", "PT5S"))
+            .addSource(() -> Collections.singletonMap("database.mode", "read_only"))
+            .addSource(() -> Collections.singletonMap("database.cache.enabled", "true"))
+            .build();
+
+        Assertions.assertEquals("8", configuration.getValue("database.poolSize"));
+        Assertions.assertEquals("8", configuration.getSection("database").getValue("poolSize"));
+
+        DatabaseOptions options = configuration.getSection("database").bind(DatabaseOptions.class);
+        Assertions.assertEquals(8, options.poolSize);
+        Assertions.assertEquals(Duration.ofSeconds(5L), options.timeout);
+        Assertions.assertEquals(Mode.READ_ONLY, options.mode);
+        Assertions.assertEquals("default", options.name);
+        Assertions.assertTrue(options.cache.enabled);
+
+        Configuration invalidConfiguration = new ConfigurationBuilder()
+            .addSource(() -> Collections.singletonMap("poolSize", "many"))
+            .build();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invalidConfiguration.bind(DatabaseOptions.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConfigurationBinder.of(FinalOptions.class));
+    }
+
+    @Test
+    void validateHostConfiguration() throws Exception {
+        Path contentRootPath = Files.createTempDirectory("configuration");
+        Files.write(contentRootPath.resolve("application.properties"), Arrays.asList("database.poolSize=2", "database.timeout=PT1S"), StandardCharsets.UTF_8);
+        Files.write(contentRootPath.resolve("application.Production.properties"), Collections.singletonList("database.poolSize=16"), StandardCharsets.UTF_8);
+
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> {
+            environment.setContentRootPath(contentRootPath);
+            environment.setEnvironmentName("Production");
+        });
+        builder.configureConfiguration(configuration -> configuration.addSource(() -> Collections.singletonMap("database.mode", "read_write")));
+        builder.configureServices(services -> services.addConfiguration("database", DatabaseOptions.class));
+
+        try (Host host = builder.build()) {
+            DatabaseOptions options = host.getServiceProvider().getRequiredService(DatabaseOptions.class);
+            Assertions.assertEquals(16, options.poolSize);
+            Assertions.assertEquals(TimeUnit.SECONDS.toMillis(1L), options.timeout.toMillis());
+            Assertions.assertEquals(Mode.READ_WRITE, options.mode);
+            Assertions.assertSame(options, host.getServiceProvider().getRequiredService(DatabaseOptions.class));
+        }
+    }
+
+    @Test
+    void validateReload() throws Exception {
+        Path contentRootPath = Files.createTempDirectory("configuration");
+        Path path = contentRootPath.resolve("application.properties");
+        Files.write(path, Collections.singletonList("database.poolSize=2"), StandardCharsets.UTF_8);
+
+        HostBuilder builder = Host.createBuilder();
+        builder.configureEnvironment(environment -> {
+            environment.setContentRootPath(contentRootPath);
+            environment.setConfigurationReloadDelay(50L);
+        });
+        builder.configureServices(services -> services.addConfiguration("database", DatabaseOptions.class));
+
+        try (Host host = builder.build()) {
+            host.start();
+
+            DatabaseOptions options = host.getServiceProvider().getRequiredService(DatabaseOptions.class);
+            Assertions.assertEquals(2, options.poolSize);
+
+            CountDownLatch latch = new CountDownLatch(1);
+            host.getServiceProvider().getRequiredService(ConfigurationWatcher.class).addListener(configuration -> latch.countDown());
+            Files.write(path, Collections.singletonList("database.poolSize=32"), StandardCharsets.UTF_8);
+            Assertions.assertTrue(latch.await(30L, TimeUnit.SECONDS));
+
+            DatabaseOptions reloadedOptions = host.getServiceProvider().getRequiredService(DatabaseOptions.class);
+            Assertions.assertEquals(2, options.poolSize);
+            Assertions.assertEquals(32, reloadedOptions.poolSize);
+            Assertions.assertEquals("32", host.getServiceProvider().getRequiredService(Configuration.class).getValue("database.poolSize"));
+
+            host.stop();
+        }
+    }
+
+    public enum Mode {
+
+        READ_ONLY,
+        READ_WRITE
+    }
+
+    public static class DatabaseOptions {
+
+        private String name = "default";
+        private int poolSize = 1;
+        private Duration timeout;
+        private Mode mode;
+        private CacheOptions cache = new CacheOptions();
+    }
+
+    public static class CacheOptions {
+
+        private boolean enabled;
+    }
+
+    public static class FinalOptions {
+
+        private final int value = 1;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified whenever a {@link ServiceProviderImpl} creates a service instance.
+ * <p>
+ * Listeners are invoked on the resolving thread while the provider is locked, so they must return quickly and
+ * must not resolve services.
+ */
+@FunctionalInterface
+public interface ServiceActivationListener {
+
+    /**
+     * Triggered after an instance of {@code descriptor} has been created.
+     *
+     * @param descriptor the {@link ServiceDescriptor} of the instance
+     * @param duration   the time taken to create the instance in nanoseconds
+     */
+    void onActivated(@NotNull ServiceDescriptor descriptor, long duration);
+}
@@ -16,15 +16,24 @@
 
 package io.github.lxgaming.common.inject;
 
+import io.github.lxgaming.common.inject.intercept.MemoizingInterceptor;
+import io.github.lxgaming.common.inject.intercept.MeteringInterceptor;
+import io.github.lxgaming.common.inject.intercept.ServiceInterceptor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ServiceCollection {
 
     protected final Collection<ServiceDescriptor> descriptors;
+    protected final Map<Class<?>, ServiceModule> modules;
+    protected ServiceDescriptorTable frozenDescriptors;
 
     public ServiceCollection() {
         this(new LinkedHashSet<>());
@@ -32,13 +41,41 @@ public ServiceCollection() {
 
     protected ServiceCollection(Collection<ServiceDescriptor> descriptors) {
         this.descriptors = descriptors;
+        this.modules = new LinkedHashMap<>();
     }
 
     /**
      * Clears the services from this {@link ServiceCollection}.
      */
     public void clear() {
+        checkNotFrozen();
         descriptors.clear();
+        modules.clear();
+    }
+
+    /**
+     * Freezes this {@link ServiceCollection}, after which no further services can be added.
+     * <p>
+     * The returned {@link ServiceDescriptorTable} is reused by every subsequent call to
+     * {@link #buildServiceProvider()} instead of copying the services each time.
+     *
+     * @return the immutable {@link ServiceDescriptorTable}
+     */
+    public @NotNull ServiceDescriptorTable freeze() {
+        if (frozenDescriptors == null) {
+            this.frozenDescriptors = new ServiceDescriptorTable(descriptors);
+        }
+
+        return frozenDescriptors;
+    }
+
+    /**
+     * Checks if this {@link ServiceCollection} has been frozen.
+     *
+     * @return {@code true} if {@link #freeze()} has been called, otherwise {@code false}
+     */
+    public boolean isFrozen() {
+        return frozenDescriptors != null;
     }
 
     /**
@@ -47,9 +84,99 @@ public void clear() {
      * @return the default {@link ServiceProvider} implementation
      */
     public @NotNull ServiceProviderImpl buildServiceProvider() {
-        return new ServiceProviderImpl(new LinkedHashSet<>(descriptors));
+        ServiceDescriptorTable descriptors = frozenDescriptors != null
+            ? frozenDescriptors
+            : new ServiceDescriptorTable(this.descriptors);
+
+        return new ServiceProviderImpl(descriptors, modules, getModuleCollectionFactory());
+    }
+
+    /**
+     * Creates a child {@link ServiceProvider} containing the services from this {@link ServiceCollection}
+     * layered over {@code parentProvider}.
+     * <p>
+     * Services registered in this {@link ServiceCollection} replace those of the same service class in the parent,
+     * every other service is resolved from the parent, including its {@link ServiceLifetime#SINGLETON} instances.
+     * Closing the child only closes the services it created.
+     *
+     * @param parentProvider the parent {@link ServiceProviderImpl}
+     * @return the default {@link ServiceProvider} implementation
+     */
+    public @NotNull ServiceProviderImpl buildServiceProvider(@NotNull ServiceProviderImpl parentProvider) {
+        ServiceDescriptorTable descriptors = frozenDescriptors != null
+            ? frozenDescriptors
+            : new ServiceDescriptorTable(this.descriptors);
+
+        return new ServiceProviderImpl(descriptors, modules, getModuleCollectionFactory(), parentProvider);
     }
 
+    //region Module
+
+    /**
+     * Gets the factory for the {@link ServiceCollection} each {@link ServiceModule} configures its services in,
+     * subclasses override this so modules can use their registration methods.
+     *
+     * @return the {@link ServiceCollection} factory
+     */
+    protected @NotNull Supplier<? extends ServiceCollection> getModuleCollectionFactory() {
+        return ServiceCollection::new;
+    }
+
+    /**
+     * Adds a {@link ServiceModule}, whose services are registered when one of its service classes is first requested.
+     *
+     * @param module The module
+     * @return this {@link ServiceCollection} for chaining
+     * @throws IllegalArgumentException if one of the service classes is already provided by another module
+     */
+    public @NotNull ServiceCollection addModule(@NotNull ServiceModule module) {
+        checkNotFrozen();
+
+        Collection<Class<?>> serviceClasses = module.getServiceClasses();
+        for (Class<?> serviceClass : serviceClasses) {
+            ServiceModule existingModule = modules.get(serviceClass);
+            if (existingModule != null && existingModule != module) {
+                throw new IllegalArgumentException(String.format("'%s' is already provided by %s", serviceClass, existingModule.getClass()));
+            }
+        }
+
+        for (Class<?> serviceClass : serviceClasses) {
+            modules.put(serviceClass, module);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds every {@link ServiceModule} discovered by {@link ServiceLoader} using the context class loader.
+     *
+     * @return this {@link ServiceCollection} for chaining
+     * @see #addModule(ServiceModule)
+     */
+    public @NotNull ServiceCollection addModules() {
+        return addModules(ServiceLoader.load(ServiceModule.class));
+    }
+
+    /**
+     * Adds every {@link ServiceModule} discovered by {@link ServiceLoader} using the specified class loader.
+     *
+     * @param classLoader The class loader
+     * @return this {@link ServiceCollection} for chaining
+     * @see #addModule(ServiceModule)
+     */
+    public @NotNull ServiceCollection addModules(@NotNull ClassLoader classLoader) {
+        return addModules(ServiceLoader.load(ServiceModule.class, classLoader));
+    }
+
+    protected @NotNull ServiceCollection addModules(@NotNull ServiceLoader<ServiceModule> serviceLoader) {
+        for (ServiceModule module : serviceLoader) {
+            addModule(module);
+        }
+
+        return this;
+    }
+    //endregion
+
     //region Service
 
     /**
@@ -217,6 +344,39 @@ public void clear() {
     }
     //endregion
 
+    //region Interceptor
+
+    /**
+     * Adds an interceptor to every service registered for the interface specified in {@code serviceClass}.
+     * Instances are proxied only when their service has at least one interceptor.
+     *
+     * @param serviceClass The service interface
+     * @param interceptor  The interceptor
+     * @return this {@link ServiceCollection} for chaining
+     * @throws IllegalArgumentException if there is no service of class {@code serviceClass} or it is not an interface
+     * @throws IllegalStateException    if this collection is frozen or a provider has already been built from it
+     * @see MemoizingInterceptor
+     * @see MeteringInterceptor
+     */
+    public @NotNull ServiceCollection addInterceptor(@NotNull Class<?> serviceClass, @NotNull ServiceInterceptor interceptor) {
+        checkNotFrozen();
+
+        boolean registered = false;
+        for (ServiceDescriptor descriptor : descriptors) {
+            if (descriptor.getServiceClass() == serviceClass) {
+                descriptor.addInterceptor(interceptor);
+                registered = true;
+            }
+        }
+
+        if (!registered) {
+            throw new IllegalArgumentException(String.format("No service for '%s' has been registered", serviceClass));
+        }
+
+        return this;
+    }
+    //endregion
+
     protected @NotNull ServiceCollection add(@NotNull Class<?> serviceClass, @NotNull ServiceLifetime lifetime, @NotNull Function<ServiceProvider, Object> implementationFactory) {
         return add(new ServiceDescriptor(serviceClass, lifetime, implementationFactory));
     }
@@ -230,11 +390,17 @@ public void clear() {
     }
 
     protected @NotNull ServiceCollection add(@NotNull ServiceDescriptor descriptor) {
-        if (descriptors.contains(descriptor)) {
+        checkNotFrozen();
+        if (!descriptors.add(descriptor)) {
             throw new IllegalArgumentException(String.format("%s is already registered", descriptor));
         }
 
-        descriptors.add(descriptor);
         return this;
     }
+
+    protected void checkNotFrozen() {
+        if (frozenDescriptors != null) {
+            throw new IllegalStateException("ServiceCollection is frozen");
+        }
+    }
 }
\ No newline at end of file
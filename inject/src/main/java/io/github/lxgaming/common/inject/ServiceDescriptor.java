@@ -16,31 +16,59 @@
 
 package io.github.lxgaming.common.inject;
 
+import io.github.lxgaming.common.inject.intercept.ServiceInterceptor;
+import io.github.lxgaming.common.inject.intercept.ServiceInvocationHandler;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.util.Objects;
+import java.util.Arrays;
 import java.util.function.Function;
 
 public class ServiceDescriptor {
 
     protected static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
+    /**
+     * Constructor {@link MethodHandle}s shared by every descriptor of an implementation class, so rebuilding a
+     * {@link ServiceCollection} does not repeat the reflective constructor lookup.
+     */
+    protected static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Constructor<?>[] constructors = type.getConstructors();
+                return LOOKUP.unreflectConstructor(constructors[0]);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    };
+
     protected final Class<?> serviceClass;
     protected final Class<?> implementationClass;
     protected final ServiceLifetime lifetime;
+    protected final int hashCode;
     protected Function<ServiceProvider, Object> implementationFactory;
     protected Object implementationInstance;
+    protected ServiceInterceptor[] interceptors;
+    protected volatile boolean built;
     protected volatile MethodHandle methodHandle;
+    protected volatile Class<?>[] dependencies;
 
     public ServiceDescriptor(@NotNull Class<?> serviceClass, @NotNull ServiceLifetime lifetime, @NotNull Function<ServiceProvider, Object> implementationFactory) {
         this(serviceClass, lifetime);
         this.implementationFactory = implementationFactory;
     }
 
+    public ServiceDescriptor(@NotNull Class<?> serviceClass, @NotNull Class<?> implementationClass, @NotNull ServiceLifetime lifetime, @NotNull Function<ServiceProvider, Object> implementationFactory) {
+        this(serviceClass, implementationClass, lifetime);
+        this.implementationFactory = implementationFactory;
+    }
+
     public ServiceDescriptor(@NotNull Class<?> serviceClass, @NotNull Object implementationInstance) {
         this(serviceClass, implementationInstance.getClass(), ServiceLifetime.SINGLETON);
         this.implementationInstance = implementationInstance;
@@ -54,6 +82,7 @@ public ServiceDescriptor(@NotNull Class<?> serviceClass, @NotNull Class<?> imple
         this.serviceClass = serviceClass;
         this.implementationClass = implementationClass;
         this.lifetime = lifetime;
+        this.hashCode = 31 * serviceClass.hashCode() + implementationClass.hashCode();
     }
 
     protected @NotNull Object createInstance(@NotNull ServiceProviderImpl provider) {
@@ -104,24 +133,83 @@ public ServiceDescriptor(@NotNull Class<?> serviceClass, @NotNull Class<?> imple
         }
     }
 
+    protected @NotNull Object intercept(@NotNull Object instance) {
+        if (interceptors == null) {
+            return instance;
+        }
+
+        return ServiceInvocationHandler.createProxy(serviceClass, instance, interceptors);
+    }
+
+    /**
+     * Adds an interceptor which is applied to every instance of this service, interceptors are applied in the
+     * order they are added. Only services with an interface service class can be intercepted.
+     *
+     * @param interceptor the {@link ServiceInterceptor}
+     * @throws IllegalArgumentException if the service class is not an interface
+     * @throws IllegalStateException    if this descriptor has been built into a {@link ServiceDescriptorTable}
+     */
+    public void addInterceptor(@NotNull ServiceInterceptor interceptor) {
+        if (!serviceClass.isInterface()) {
+            throw new IllegalArgumentException(String.format("Cannot intercept '%s' as it is not an interface", serviceClass));
+        }
+
+        if (built) {
+            throw new IllegalStateException(String.format("Cannot intercept '%s' as it has already been built", serviceClass));
+        }
+
+        if (interceptors == null) {
+            this.interceptors = new ServiceInterceptor[]{interceptor};
+            return;
+        }
+
+        ServiceInterceptor[] interceptors = Arrays.copyOf(this.interceptors, this.interceptors.length + 1);
+        interceptors[interceptors.length - 1] = interceptor;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Marks this descriptor as built, the interceptors are read without synchronization from then on so they can no
+     * longer be added.
+     */
+    protected void markBuilt() {
+        this.built = true;
+    }
+
     protected @NotNull MethodHandle getMethodHandle() {
+        MethodHandle methodHandle = this.methodHandle;
         if (methodHandle != null) {
             return methodHandle;
         }
 
-        synchronized (this) {
-            if (methodHandle != null) {
-                return methodHandle;
-            }
+        return this.methodHandle = CONSTRUCTORS.get(implementationClass);
+    }
 
-            try {
-                Constructor<?>[] constructors = implementationClass.getConstructors();
-                this.methodHandle = LOOKUP.unreflectConstructor(constructors[0]);
-                return methodHandle;
-            } catch (IllegalAccessException ex) {
-                throw new RuntimeException(ex);
-            }
+    /**
+     * The classes this service depends on, determined from the constructor of the implementation class.
+     * Services registered with an instance, or with a factory and no implementation class, have no known dependencies.
+     * <p>
+     * The dependencies are computed once and shared by every provider built from this descriptor, each call returns
+     * a copy.
+     *
+     * @return the dependency classes
+     */
+    public @NotNull Class<?>[] getDependencies() {
+        Class<?>[] dependencies = this.dependencies;
+        if (dependencies == null) {
+            this.dependencies = dependencies = computeDependencies();
+        }
+
+        return dependencies.clone();
+    }
+
+    protected @NotNull Class<?>[] computeDependencies() {
+        if (implementationInstance != null || (implementationFactory != null && implementationClass == serviceClass)) {
+            return new Class<?>[0];
         }
+
+        Constructor<?>[] constructors = implementationClass.getConstructors();
+        return constructors.length != 0 ? constructors[0].getParameterTypes() : new Class<?>[0];
     }
 
     public @NotNull Class<?> getServiceClass() {
@@ -138,7 +226,7 @@ public ServiceDescriptor(@NotNull Class<?> serviceClass, @NotNull Class<?> imple
 
     @Override
     public int hashCode() {
-        return Objects.hash(serviceClass, implementationClass);
+        return hashCode;
     }
 
     @Override
@@ -152,8 +240,8 @@ public boolean equals(Object obj) {
         }
 
         ServiceDescriptor descriptor = (ServiceDescriptor) obj;
-        return Objects.equals(serviceClass, descriptor.serviceClass)
-            && Objects.equals(implementationClass, descriptor.implementationClass);
+        return serviceClass == descriptor.serviceClass
+            && implementationClass == descriptor.implementationClass;
     }
 
     @Override
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, array-backed table of {@link ServiceDescriptor}s with an open-addressed index
+ * keyed by {@link ServiceDescriptor#getServiceClass() service class}.
+ * <p>
+ * Tables are safe to share between providers and scopes without copying.
+ */
+public final class ServiceDescriptorTable extends AbstractList<ServiceDescriptor> implements RandomAccess {
+
+    private static final int ABSENT = -1;
+
+    private final ServiceDescriptor[] descriptors;
+    private final Class<?>[] keys;
+    private final int[] heads;
+    private final int[] next;
+    private final int mask;
+
+    public ServiceDescriptorTable(@NotNull Collection<ServiceDescriptor> descriptors) {
+        this.descriptors = descriptors.toArray(new ServiceDescriptor[0]);
+        for (ServiceDescriptor descriptor : this.descriptors) {
+            descriptor.markBuilt();
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(this.descriptors.length, 1) * 2 - 1) << 1;
+        this.keys = new Class<?>[capacity];
+        this.heads = new int[capacity];
+        this.next = new int[this.descriptors.length];
+        this.mask = capacity - 1;
+
+        // Chains are built back to front so each chain preserves registration order.
+        for (int index = this.descriptors.length - 1; index >= 0; index--) {
+            Class<?> serviceClass = this.descriptors[index].getServiceClass();
+            int slot = slot(serviceClass);
+            if (keys[slot] == null) {
+                keys[slot] = serviceClass;
+                next[index] = ABSENT;
+            } else {
+                next[index] = heads[slot];
+            }
+
+            heads[slot] = index;
+        }
+    }
+
+    private ServiceDescriptorTable(@NotNull ServiceDescriptorTable table, @NotNull ServiceDescriptor[] descriptors) {
+        this.descriptors = descriptors;
+        this.keys = table.keys;
+        this.heads = table.heads;
+        this.next = table.next;
+        this.mask = table.mask;
+    }
+
+    /**
+     * Creates a copy of this table with the first registration for the service class of {@code descriptor}
+     * replaced by {@code descriptor}. The index is shared with this table.
+     *
+     * @param descriptor the replacement {@link ServiceDescriptor}
+     * @return the new {@link ServiceDescriptorTable}
+     * @throws IllegalArgumentException if the service class of {@code descriptor} is not registered
+     */
+    public @NotNull ServiceDescriptorTable replace(@NotNull ServiceDescriptor descriptor) {
+        int index = headOf(descriptor.getServiceClass());
+        if (index == ABSENT) {
+            throw new IllegalArgumentException(String.format("No service for '%s' has been registered", descriptor.getServiceClass()));
+        }
+
+        descriptor.markBuilt();
+        ServiceDescriptor[] descriptors = this.descriptors.clone();
+        descriptors[index] = descriptor;
+        return new ServiceDescriptorTable(this, descriptors);
+    }
+
+    /**
+     * Gets the first {@link ServiceDescriptor} registered for {@code serviceClass}.
+     *
+     * @param serviceClass the service class
+     * @return the {@link ServiceDescriptor} or {@code null} if there is no such service
+     */
+    public @Nullable ServiceDescriptor getDescriptor(@NotNull Class<?> serviceClass) {
+        int index = headOf(serviceClass);
+        return index != ABSENT ? descriptors[index] : null;
+    }
+
+    /**
+     * Gets every {@link ServiceDescriptor} registered for {@code serviceClass}, in registration order.
+     *
+     * @param serviceClass the service class
+     * @return the {@link ServiceDescriptor}s, empty if there is no such service
+     */
+    public @NotNull List<ServiceDescriptor> getDescriptors(@NotNull Class<?> serviceClass) {
+        int index = headOf(serviceClass);
+        if (index == ABSENT) {
+            return Collections.emptyList();
+        }
+
+        if (next[index] == ABSENT) {
+            return Collections.singletonList(descriptors[index]);
+        }
+
+        List<ServiceDescriptor> list = new ArrayList<>();
+        for (; index != ABSENT; index = next[index]) {
+            list.add(descriptors[index]);
+        }
+
+        return list;
+    }
+
+    /**
+     * Checks if {@code serviceClass} has at least one registration.
+     *
+     * @param serviceClass the service class
+     * @return {@code true} if {@code serviceClass} is registered, otherwise {@code false}
+     */
+    public boolean containsService(@NotNull Class<?> serviceClass) {
+        return headOf(serviceClass) != ABSENT;
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        if (!(obj instanceof ServiceDescriptor)) {
+            return false;
+        }
+
+        for (int index = headOf(((ServiceDescriptor) obj).getServiceClass()); index != ABSENT; index = next[index]) {
+            if (descriptors[index].equals(obj)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public @NotNull ServiceDescriptor get(int index) {
+        return descriptors[index];
+    }
+
+    @Override
+    public int size() {
+        return descriptors.length;
+    }
+
+    private int headOf(@NotNull Class<?> serviceClass) {
+        int slot = slot(serviceClass);
+        return keys[slot] != null ? heads[slot] : ABSENT;
+    }
+
+    private int slot(@NotNull Class<?> serviceClass) {
+        int hash = System.identityHashCode(serviceClass);
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != null && keys[slot] != serviceClass) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emits Java Flight Recorder events for service activations and {@link ServiceScope} lifetimes.
+ * <p>
+ * This implementation does nothing, on Java 11 and later it is replaced by the implementation under
+ * {@code META-INF/versions/11} which emits {@code jdk.jfr} events.
+ */
+final class ServiceEvents {
+
+    private ServiceEvents() {
+    }
+
+    static @Nullable Object beginActivation() {
+        return null;
+    }
+
+    static void endActivation(@Nullable Object event, @NotNull ServiceDescriptor descriptor) {
+    }
+
+    static @Nullable Object beginScope() {
+        return null;
+    }
+
+    static void endScope(@Nullable Object event) {
+    }
+}
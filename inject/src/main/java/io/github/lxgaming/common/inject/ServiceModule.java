@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * A group of services which are only registered once one of its service classes is first requested.
+ * <p>
+ * Modules can be discovered through {@link java.util.ServiceLoader} by listing them in
+ * {@code META-INF/services/io.github.lxgaming.common.inject.ServiceModule}.
+ *
+ * @see ServiceCollection#addModules()
+ */
+public interface ServiceModule {
+
+    /**
+     * The service classes registered by this module, this is called when the module is added
+     * and should not perform any other work.
+     *
+     * @return the service classes
+     */
+    @NotNull Collection<Class<?>> getServiceClasses();
+
+    /**
+     * Registers the services of this module, this is called at most once per {@link ServiceProvider}.
+     *
+     * @param services the {@link ServiceCollection} to register services with
+     */
+    void configureServices(@NotNull ServiceCollection services);
+}
@@ -57,4 +57,23 @@ public interface ServiceProvider {
      * @return a collection of services of class {@code serviceClass}
      */
     <T> @NotNull Collection<T> getServices(@NotNull Class<T> serviceClass);
-}
\ No newline at end of file
+
+    /**
+     * Get services of every class in {@code resolutionSet} from the {@link ServiceProvider}.
+     * <p>
+     * The default implementation calls {@link #getRequiredService(Class)} for each class, implementations may
+     * resolve the services in a single pass.
+     *
+     * @param resolutionSet The service classes to resolve
+     * @return an array of services, in the same order as {@code resolutionSet}
+     * @throws IllegalStateException if there is no service of one of the classes
+     */
+    default @NotNull Object[] getRequiredServices(@NotNull ServiceResolutionSet resolutionSet) throws IllegalStateException {
+        Object[] services = new Object[resolutionSet.size()];
+        for (int index = 0; index < services.length; index++) {
+            services[index] = getRequiredService(resolutionSet.getServiceClass(index));
+        }
+
+        return services;
+    }
+}
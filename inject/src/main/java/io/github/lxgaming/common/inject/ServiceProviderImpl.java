@@ -22,39 +22,81 @@
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
-public class ServiceProviderImpl implements ServiceProvider, AutoCloseable {
+public class ServiceProviderImpl implements ServiceProvider, ServiceProviderMXBean, AutoCloseable {
 
-    protected final Collection<ServiceDescriptor> descriptors;
+    protected volatile ServiceDescriptorTable descriptors;
+    protected volatile Generation generation;
+    protected final Map<Class<?>, ServiceModule> modules;
     protected final Map<ServiceDescriptor, Object> instances;
     protected final Collection<AutoCloseable> closeables;
     protected final Deque<ServiceDescriptor> deque;
     protected final Lock lock;
+    protected final List<ServiceActivationListener> activationListeners;
+    protected final Supplier<? extends ServiceCollection> serviceCollectionFactory;
+    protected final AtomicInteger scopeCount;
+    protected final AtomicInteger closeableCount;
     protected ServiceProviderImpl rootProvider;
+    protected ServiceProviderImpl parentProvider;
+    protected boolean released;
 
     protected ServiceProviderImpl(@NotNull ServiceProviderImpl rootProvider) {
-        this(rootProvider.descriptors);
+        this(rootProvider.acquireGeneration(), rootProvider.modules, rootProvider.serviceCollectionFactory, rootProvider.activationListeners);
         this.rootProvider = rootProvider;
+        this.parentProvider = rootProvider.parentProvider;
     }
 
-    protected ServiceProviderImpl(@NotNull Collection<ServiceDescriptor> descriptors) {
-        this.descriptors = descriptors;
-        this.instances = new HashMap<>();
+    protected ServiceProviderImpl(@NotNull ServiceDescriptorTable descriptors, @NotNull Map<Class<?>, ServiceModule> modules, @NotNull ServiceProviderImpl parentProvider) {
+        this(descriptors, modules, ServiceCollection::new, parentProvider);
+    }
+
+    protected ServiceProviderImpl(@NotNull ServiceDescriptorTable descriptors, @NotNull Map<Class<?>, ServiceModule> modules, @NotNull Supplier<? extends ServiceCollection> serviceCollectionFactory, @NotNull ServiceProviderImpl parentProvider) {
+        this(descriptors, modules, serviceCollectionFactory);
+        this.parentProvider = parentProvider.getRootProvider();
+    }
+
+    protected ServiceProviderImpl(@NotNull ServiceDescriptorTable descriptors, @NotNull Map<Class<?>, ServiceModule> modules) {
+        this(descriptors, modules, ServiceCollection::new);
+    }
+
+    protected ServiceProviderImpl(@NotNull ServiceDescriptorTable descriptors, @NotNull Map<Class<?>, ServiceModule> modules, @NotNull Supplier<? extends ServiceCollection> serviceCollectionFactory) {
+        this(new Generation(descriptors), modules.isEmpty() ? Collections.emptyMap() : new ConcurrentHashMap<>(modules), serviceCollectionFactory, new CopyOnWriteArrayList<>());
+    }
+
+    protected ServiceProviderImpl(@NotNull ServiceDescriptorTable descriptors) {
+        this(descriptors, Collections.emptyMap());
+    }
+
+    private ServiceProviderImpl(@NotNull Generation generation, @NotNull Map<Class<?>, ServiceModule> modules, @NotNull Supplier<? extends ServiceCollection> serviceCollectionFactory, @NotNull List<ServiceActivationListener> activationListeners) {
+        this.descriptors = generation.descriptors;
+        this.generation = generation;
+        this.modules = modules;
+        this.instances = new ConcurrentHashMap<>();
         this.closeables = new ArrayList<>();
         this.deque = new ArrayDeque<>();
         this.lock = new ReentrantLock();
+        this.activationListeners = activationListeners;
+        this.serviceCollectionFactory = serviceCollectionFactory;
+        this.scopeCount = new AtomicInteger();
+        this.closeableCount = new AtomicInteger();
     }
 
     @Override
     public @NotNull ServiceScope createScope() {
         ServiceProviderImpl rootProvider = getRootProvider();
         ServiceProviderImpl scopeProvider = new ServiceProviderImpl(rootProvider);
+        rootProvider.scopeCount.incrementAndGet();
         return new ServiceScope(scopeProvider);
     }
 
@@ -85,32 +127,120 @@ protected ServiceProviderImpl(@NotNull Collection<ServiceDescriptor> descriptors
 
     @Override
     public <T> @NotNull List<T> getServices(@NotNull Class<T> serviceClass) {
-        List<T> services = new ArrayList<>();
+        List<ServiceDescriptor> descriptors = getDescriptors(serviceClass);
+        List<T> services = new ArrayList<>(descriptors.size());
         for (ServiceDescriptor descriptor : descriptors) {
-            if (descriptor.getServiceClass() == serviceClass) {
-                services.add(getRequiredService(serviceClass));
+            services.add(getInstance(descriptor));
+        }
+
+        return services;
+    }
+
+    /**
+     * Gets the descriptors registered for {@code serviceClass}, in registration order.
+     *
+     * @param serviceClass The service class
+     * @return the {@link ServiceDescriptor}s, empty if there is no such service
+     */
+    public @NotNull List<ServiceDescriptor> getServiceDescriptors(@NotNull Class<?> serviceClass) {
+        return getDescriptors(serviceClass);
+    }
+
+    @Override
+    public @NotNull Object[] getRequiredServices(@NotNull ServiceResolutionSet resolutionSet) throws IllegalStateException {
+        ServiceDescriptor[] descriptors = resolutionSet.getDescriptors(this);
+        Object[] services = new Object[descriptors.length];
+        boolean resolved = true;
+        for (int index = 0; index < descriptors.length; index++) {
+            // Matches getService, the provider itself takes precedence over any registration.
+            Class<?> serviceClass = resolutionSet.getServiceClass(index);
+            if (serviceClass.isInstance(this)) {
+                services[index] = this;
+                continue;
+            }
+
+            ServiceDescriptor descriptor = descriptors[index];
+            if (descriptor == null) {
+                throw new IllegalStateException(String.format("No service for '%s' has been registered", serviceClass));
+            }
+
+            Object instance = getExistingInstance(descriptor);
+            if (instance != null) {
+                services[index] = instance;
+            } else {
+                resolved = false;
             }
         }
 
+        if (resolved) {
+            return services;
+        }
+
+        lock.lock();
+        try {
+            for (int index = 0; index < descriptors.length; index++) {
+                if (services[index] == null) {
+                    services[index] = getInstance(descriptors[index]);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
         return services;
     }
 
-    protected @Nullable ServiceDescriptor getDescriptor(@NotNull Class<?> serviceClass) {
-        for (ServiceDescriptor descriptor : descriptors) {
-            if (descriptor.getServiceClass() == serviceClass) {
-                return descriptor;
+    protected @Nullable Object getExistingInstance(@NotNull ServiceDescriptor descriptor) {
+        if (descriptor.getLifetime() == ServiceLifetime.SINGLETON) {
+            ServiceProviderImpl rootProvider = getRootProvider();
+            if (generation != rootProvider.generation || rootProvider.isChild()) {
+                return null;
             }
+
+            return rootProvider.instances.get(descriptor);
+        }
+
+        if (descriptor.getLifetime() == ServiceLifetime.SCOPED && isScope()) {
+            return instances.get(descriptor);
         }
 
         return null;
     }
 
+    protected @Nullable ServiceDescriptor getDescriptor(@NotNull Class<?> serviceClass) {
+        ServiceDescriptor descriptor = descriptors.getDescriptor(serviceClass);
+        if (descriptor == null && loadModule(serviceClass)) {
+            descriptor = getRootProvider().descriptors.getDescriptor(serviceClass);
+        }
+
+        if (descriptor == null && parentProvider != null) {
+            return parentProvider.getDescriptor(serviceClass);
+        }
+
+        return descriptor;
+    }
+
+    protected @NotNull List<ServiceDescriptor> getDescriptors(@NotNull Class<?> serviceClass) {
+        ServiceDescriptorTable descriptors = this.descriptors;
+        if (!descriptors.containsService(serviceClass) && loadModule(serviceClass)) {
+            descriptors = getRootProvider().descriptors;
+        }
+
+        if (parentProvider != null && !descriptors.containsService(serviceClass)) {
+            return parentProvider.getDescriptors(serviceClass);
+        }
+
+        return descriptors.getDescriptors(serviceClass);
+    }
+
     @SuppressWarnings("unchecked")
     protected <T> @NotNull T getInstance(@NotNull ServiceDescriptor descriptor) {
         if (descriptor.getLifetime() == ServiceLifetime.SINGLETON) {
             if (isScope()) {
-                return getRootProvider().getInstance(descriptor);
+                return getRootProvider().getSingleton(descriptor, generation);
             }
+
+            return getSingleton(descriptor, null);
         } else if (descriptor.getLifetime() == ServiceLifetime.SCOPED) {
             if (isRoot()) {
                 throw new IllegalStateException(String.format("Cannot resolve '%s' from the root provider", descriptor.serviceClass));
@@ -141,6 +271,67 @@ protected ServiceProviderImpl(@NotNull Collection<ServiceDescriptor> descriptors
         }
     }
 
+    @SuppressWarnings("unchecked")
+    protected <T> @NotNull T getSingleton(@NotNull ServiceDescriptor descriptor, @Nullable Generation generation) {
+        // Scopes created before a replacement keep resolving the registration they were created with.
+        for (Generation current = generation; current != null && current != this.generation; current = current.next) {
+            Retirement retirement = current.getRetirement(descriptor);
+            if (retirement != null) {
+                return getInstance(retirement);
+            }
+        }
+
+        if (isChild() && !descriptors.containsService(descriptor.getServiceClass())) {
+            return parentProvider.getSingleton(descriptor, null);
+        }
+
+        Object preInstance = instances.get(descriptor);
+        if (preInstance != null) {
+            return (T) preInstance;
+        }
+
+        lock.lock();
+        try {
+            Object postInstance = instances.get(descriptor);
+            if (postInstance != null) {
+                return (T) postInstance;
+            }
+
+            if (!isCurrent(descriptor)) {
+                // Lost a race with replaceService, only the first registration can be replaced.
+                return getSingleton(Objects.requireNonNull(descriptors.getDescriptor(descriptor.getServiceClass())), null);
+            }
+
+            T instance = createInstance(descriptor);
+            instances.put(descriptor, instance);
+            return instance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> @NotNull T getInstance(@NotNull Retirement retirement) {
+        Object preInstance = retirement.instance;
+        if (preInstance != null) {
+            return (T) preInstance;
+        }
+
+        lock.lock();
+        try {
+            Object postInstance = retirement.instance;
+            if (postInstance != null) {
+                return (T) postInstance;
+            }
+
+            T instance = createInstance(retirement.descriptor);
+            retirement.instance = instance;
+            return instance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected <T> @NotNull T createInstance(@NotNull ServiceDescriptor descriptor) {
         lock.lock();
@@ -151,12 +342,29 @@ protected ServiceProviderImpl(@NotNull Collection<ServiceDescriptor> descriptors
 
             deque.addLast(descriptor);
             try {
-                T instance = (T) descriptor.createInstance(this);
+                boolean activation = !activationListeners.isEmpty();
+                long startTime = activation ? System.nanoTime() : 0L;
+                Object event = ServiceEvents.beginActivation();
+                Object instance;
+                try {
+                    instance = descriptor.createInstance(this);
+                } finally {
+                    ServiceEvents.endActivation(event, descriptor);
+                }
+
                 if (instance instanceof AutoCloseable) {
                     closeables.add((AutoCloseable) instance);
+                    closeableCount.incrementAndGet();
                 }
 
-                return instance;
+                if (activation) {
+                    long duration = System.nanoTime() - startTime;
+                    for (ServiceActivationListener activationListener : activationListeners) {
+                        activationListener.onActivated(descriptor, duration);
+                    }
+                }
+
+                return (T) descriptor.intercept(instance);
             } finally {
                 deque.removeLast();
             }
@@ -165,6 +373,237 @@ protected ServiceProviderImpl(@NotNull Collection<ServiceDescriptor> descriptors
         }
     }
 
+    /**
+     * Adds a listener which is notified whenever this provider, or any of its scopes, creates a service instance.
+     *
+     * @param activationListener the {@link ServiceActivationListener}
+     */
+    public void addActivationListener(@NotNull ServiceActivationListener activationListener) {
+        activationListeners.add(activationListener);
+    }
+
+    public void removeActivationListener(@NotNull ServiceActivationListener activationListener) {
+        activationListeners.remove(activationListener);
+    }
+
+    //region Replacement
+
+    /**
+     * Replaces the first service registered for the service class of {@code descriptor}.
+     * <p>
+     * Resolving services never blocks on a replacement. Scopes created before the replacement keep resolving
+     * the previous registration, and the previous {@link ServiceLifetime#SINGLETON} instance is closed once
+     * every such scope has been closed.
+     *
+     * @param descriptor the replacement {@link ServiceDescriptor}
+     * @throws IllegalStateException if there is no service of class {@link ServiceDescriptor#getServiceClass()}
+     * @throws Exception             if an exception was encountered while closing the previous instance
+     */
+    public void replaceService(@NotNull ServiceDescriptor descriptor) throws Exception {
+        replaceServices(Collections.singletonList(descriptor));
+    }
+
+    /**
+     * Replaces the first service registered for the service class of every descriptor in {@code descriptors}
+     * as a single replacement, so no resolution observes some of the replacements without the others.
+     *
+     * @param descriptors the replacement {@link ServiceDescriptor}s
+     * @throws IllegalStateException if there is no service for the service class of a descriptor, in which
+     *                               case none of the descriptors are replaced
+     * @throws Exception             if an exception was encountered while closing the previous instances
+     * @see #replaceService(ServiceDescriptor)
+     */
+    public void replaceServices(@NotNull Collection<ServiceDescriptor> descriptors) throws Exception {
+        if (isScope()) {
+            getRootProvider().replaceServices(descriptors);
+            return;
+        }
+
+        Generation previousGeneration;
+        lock.lock();
+        try {
+            ServiceDescriptorTable table = this.descriptors;
+            for (ServiceDescriptor descriptor : descriptors) {
+                if (!table.containsService(descriptor.getServiceClass())) {
+                    throw new IllegalStateException(String.format("No service for '%s' has been registered", descriptor.getServiceClass()));
+                }
+            }
+
+            previousGeneration = this.generation;
+            for (ServiceDescriptor descriptor : descriptors) {
+                ServiceDescriptor previousDescriptor = table.getDescriptor(descriptor.getServiceClass());
+                previousGeneration.retirements.add(new Retirement(previousDescriptor, instances.remove(previousDescriptor)));
+                table = table.replace(descriptor);
+            }
+
+            publishGeneration(table);
+        } finally {
+            lock.unlock();
+        }
+
+        releaseGeneration(previousGeneration);
+    }
+
+    /**
+     * Replaces the first service registered for {@code serviceClass} with a singleton of the instance specified
+     * in {@code implementationInstance}.
+     *
+     * @param serviceClass           The service class
+     * @param implementationInstance The implementation instance
+     * @throws IllegalStateException if there is no service of class {@code serviceClass}
+     * @throws Exception             if an exception was encountered while closing the previous instance
+     * @see #replaceService(ServiceDescriptor)
+     */
+    public void replaceSingleton(@NotNull Class<?> serviceClass, @NotNull Object implementationInstance) throws Exception {
+        replaceService(new ServiceDescriptor(serviceClass, implementationInstance));
+    }
+
+    protected void publishGeneration(@NotNull ServiceDescriptorTable descriptors) {
+        Generation generation = new Generation(descriptors);
+
+        // The previous generation holds a reference until it has drained, as its scopes may still
+        // resolve registrations which are retired by this generation.
+        generation.acquire();
+
+        this.generation.next = generation;
+        this.descriptors = descriptors;
+        this.generation = generation;
+    }
+
+    protected @NotNull Generation acquireGeneration() {
+        while (true) {
+            Generation generation = this.generation;
+            if (generation.acquire()) {
+                return generation;
+            }
+        }
+    }
+
+    protected void releaseGeneration(@NotNull Generation generation) throws Exception {
+        Exception ex = null;
+        for (Generation current = generation; current != null && current.release(); current = current.next) {
+            List<AutoCloseable> retiredCloseables = new ArrayList<>();
+            lock.lock();
+            try {
+                for (Retirement retirement : current.retirements) {
+                    Object instance = retirement.instance;
+                    if (instance instanceof AutoCloseable && closeables.remove(instance)) {
+                        closeableCount.decrementAndGet();
+                        retiredCloseables.add((AutoCloseable) instance);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            for (AutoCloseable closeable : retiredCloseables) {
+                try {
+                    closeable.close();
+                } catch (Throwable t) {
+                    if (ex == null) {
+                        ex = new Exception("Encountered an error while closing services");
+                    }
+
+                    ex.addSuppressed(t);
+                }
+            }
+        }
+
+        if (ex != null) {
+            throw ex;
+        }
+    }
+
+    /**
+     * Registers the services of the {@link ServiceModule} for {@code serviceClass} with the root provider,
+     * if it has not already been loaded.
+     * <p>
+     * The module is configured without holding the root provider's lock, so a module loaded by several threads at
+     * once may be configured more than once, only the first result is registered. A module which fails to configure
+     * or registers an existing service class remains unloaded and fails again on the next request.
+     *
+     * @param serviceClass the service class
+     * @return {@code true} if the root provider has registrations for {@code serviceClass}
+     * which are not visible to this provider, otherwise {@code false}
+     * @throws IllegalStateException if the module registers a service class which has already been registered
+     */
+    protected boolean loadModule(@NotNull Class<?> serviceClass) throws IllegalStateException {
+        ServiceProviderImpl rootProvider = getRootProvider();
+        ServiceModule module = modules.get(serviceClass);
+        if (module == null) {
+            // The module may have been loaded since the caller read its descriptors.
+            return rootProvider.descriptors.containsService(serviceClass);
+        }
+
+        ServiceCollection services = rootProvider.createServiceCollection();
+        module.configureServices(services);
+
+        Generation previousGeneration;
+        while (true) {
+            ServiceDescriptorTable currentDescriptors = rootProvider.descriptors;
+            List<ServiceDescriptor> descriptors = new ArrayList<>(currentDescriptors.size() + services.descriptors.size());
+            descriptors.addAll(currentDescriptors);
+            for (ServiceDescriptor descriptor : services.descriptors) {
+                if (currentDescriptors.containsService(descriptor.getServiceClass())) {
+                    if (modules.get(serviceClass) != module) {
+                        // Another thread has loaded the module.
+                        return true;
+                    }
+
+                    throw new IllegalStateException(String.format("A service for '%s' has already been registered", descriptor.getServiceClass()));
+                }
+
+                descriptors.add(descriptor);
+            }
+
+            ServiceDescriptorTable table = new ServiceDescriptorTable(descriptors);
+            rootProvider.lock.lock();
+            try {
+                if (modules.get(serviceClass) != module) {
+                    return rootProvider.descriptors.containsService(serviceClass);
+                }
+
+                // Retry if the descriptors were replaced while the table was being built.
+                if (rootProvider.descriptors == currentDescriptors) {
+                    previousGeneration = rootProvider.generation;
+                    rootProvider.publishGeneration(table);
+                    modules.values().removeIf(value -> value == module);
+                    break;
+                }
+            } finally {
+                rootProvider.lock.unlock();
+            }
+        }
+
+        try {
+            rootProvider.releaseGeneration(previousGeneration);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Encountered an error while loading module", ex);
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates the {@link ServiceCollection} a {@link ServiceModule} configures its services in.
+     *
+     * @return a new {@link ServiceCollection} of the type which built this provider
+     */
+    protected @NotNull ServiceCollection createServiceCollection() {
+        return serviceCollectionFactory.get();
+    }
+
+    protected boolean isCurrent(@NotNull ServiceDescriptor descriptor) {
+        for (ServiceDescriptor currentDescriptor : descriptors.getDescriptors(descriptor.getServiceClass())) {
+            if (currentDescriptor == descriptor) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+    //endregion
+
     protected boolean isRoot() {
         return rootProvider == null;
     }
@@ -173,6 +612,30 @@ protected boolean isScope() {
         return rootProvider != null;
     }
 
+    @Override
+    public int getDescriptorCount() {
+        return descriptors.size();
+    }
+
+    @Override
+    public int getInstanceCount() {
+        return instances.size();
+    }
+
+    @Override
+    public int getScopeCount() {
+        return scopeCount.get();
+    }
+
+    @Override
+    public int getCloseableCount() {
+        return closeableCount.get();
+    }
+
+    protected boolean isChild() {
+        return parentProvider != null;
+    }
+
     protected @NotNull ServiceProviderImpl getRootProvider() {
         return rootProvider != null ? rootProvider : this;
     }
@@ -192,8 +655,80 @@ public void close() throws Exception {
             }
         }
 
+        if (isScope() && !released) {
+            this.released = true;
+            getRootProvider().scopeCount.decrementAndGet();
+            try {
+                getRootProvider().releaseGeneration(generation);
+            } catch (Throwable t) {
+                if (ex == null) {
+                    ex = new Exception("Encountered an error while closing services");
+                }
+
+                ex.addSuppressed(t);
+            }
+        }
+
         if (ex != null) {
             throw ex;
         }
     }
+
+    /**
+     * A snapshot of the registrations of a root provider, shared by every scope created from it.
+     */
+    protected static final class Generation {
+
+        protected final ServiceDescriptorTable descriptors;
+        protected final AtomicInteger references;
+        protected final List<Retirement> retirements;
+        protected volatile Generation next;
+
+        protected Generation(@NotNull ServiceDescriptorTable descriptors) {
+            this.descriptors = descriptors;
+            this.references = new AtomicInteger(1);
+            this.retirements = new ArrayList<>();
+        }
+
+        protected boolean acquire() {
+            while (true) {
+                int count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+
+                if (references.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        protected boolean release() {
+            return references.decrementAndGet() == 0;
+        }
+
+        protected @Nullable Retirement getRetirement(@NotNull ServiceDescriptor descriptor) {
+            for (Retirement retirement : retirements) {
+                if (retirement.descriptor == descriptor) {
+                    return retirement;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A replaced registration and its singleton instance, if one has been created.
+     */
+    protected static final class Retirement {
+
+        protected final ServiceDescriptor descriptor;
+        protected volatile Object instance;
+
+        protected Retirement(@NotNull ServiceDescriptor descriptor, @Nullable Object instance) {
+            this.descriptor = descriptor;
+            this.instance = instance;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+/**
+ * Management interface exposing the statistics of a {@link ServiceProviderImpl}.
+ * <p>
+ * Every attribute is read from concurrent or atomic fields, no locks are taken.
+ */
+public interface ServiceProviderMXBean {
+
+    /**
+     * Gets the number of registered {@link ServiceDescriptor}s.
+     *
+     * @return the number of descriptors
+     */
+    int getDescriptorCount();
+
+    /**
+     * Gets the number of service instances held by this provider, for a root provider these are the
+     * {@link ServiceLifetime#SINGLETON} instances.
+     *
+     * @return the number of instances
+     */
+    int getInstanceCount();
+
+    /**
+     * Gets the number of {@link ServiceScope}s created from this provider which have not been closed.
+     *
+     * @return the number of live scopes
+     */
+    int getScopeCount();
+
+    /**
+     * Gets the number of {@link AutoCloseable} instances which will be closed with this provider.
+     *
+     * @return the number of closeables
+     */
+    int getCloseableCount();
+}
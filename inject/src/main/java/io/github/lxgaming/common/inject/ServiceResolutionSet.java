@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A precompiled set of service classes which are resolved together by
+ * {@link ServiceProvider#getRequiredServices(ServiceResolutionSet)}.
+ * <p>
+ * The descriptor lookups are cached against the descriptors of the provider they were resolved from,
+ * so a set should be created once and reused for every resolution.
+ */
+public final class ServiceResolutionSet {
+
+    private final Class<?>[] serviceClasses;
+    private volatile Resolution resolution;
+
+    private ServiceResolutionSet(@NotNull Class<?>[] serviceClasses) {
+        this.serviceClasses = serviceClasses;
+    }
+
+    /**
+     * Creates a {@link ServiceResolutionSet} of the specified service classes.
+     *
+     * @param serviceClasses the service classes, in the order they are returned
+     * @return the {@link ServiceResolutionSet}
+     */
+    public static @NotNull ServiceResolutionSet of(@NotNull Class<?>... serviceClasses) {
+        return new ServiceResolutionSet(serviceClasses.clone());
+    }
+
+    /**
+     * Gets the service class at {@code index}.
+     *
+     * @param index the index
+     * @return the service class
+     */
+    public @NotNull Class<?> getServiceClass(int index) {
+        return serviceClasses[index];
+    }
+
+    public int size() {
+        return serviceClasses.length;
+    }
+
+    @NotNull ServiceDescriptor[] getDescriptors(@NotNull ServiceProviderImpl provider) {
+        ServiceDescriptorTable descriptors = provider.descriptors;
+        Resolution resolution = this.resolution;
+        if (resolution != null && resolution.table == descriptors && !provider.isChild()) {
+            return resolution.descriptors;
+        }
+
+        ServiceDescriptor[] resolvedDescriptors = new ServiceDescriptor[serviceClasses.length];
+        for (int index = 0; index < serviceClasses.length; index++) {
+            resolvedDescriptors[index] = provider.getDescriptor(serviceClasses[index]);
+        }
+
+        // Module loading may have published new descriptors, in which case the resolution is not cached.
+        if (!provider.isChild() && provider.descriptors == descriptors) {
+            this.resolution = new Resolution(descriptors, resolvedDescriptors);
+        }
+
+        return resolvedDescriptors;
+    }
+
+    private static final class Resolution {
+
+        private final ServiceDescriptorTable table;
+        private final ServiceDescriptor[] descriptors;
+
+        private Resolution(@NotNull ServiceDescriptorTable table, @NotNull ServiceDescriptor[] descriptors) {
+            this.table = table;
+            this.descriptors = descriptors;
+        }
+    }
+}
@@ -25,14 +25,22 @@
 public class ServiceScope implements AutoCloseable {
 
     protected final ServiceProviderImpl serviceProvider;
+    protected Object event;
 
     protected ServiceScope(@NotNull ServiceProviderImpl serviceProvider) {
         this.serviceProvider = serviceProvider;
+        this.event = ServiceEvents.beginScope();
     }
 
     @Override
     public void close() throws Exception {
-        serviceProvider.close();
+        try {
+            serviceProvider.close();
+        } finally {
+            Object event = this.event;
+            this.event = null;
+            ServiceEvents.endScope(event);
+        }
     }
 
     /**
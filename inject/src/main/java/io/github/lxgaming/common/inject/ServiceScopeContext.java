@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds the ambient {@link ServiceScope} of the current thread.
+ * <p>
+ * The {@code wrap} methods capture the current {@link ServiceScope} and restore it on whichever thread
+ * eventually runs the task, when there is no current {@link ServiceScope} the task is returned unchanged.
+ */
+public class ServiceScopeContext {
+
+    private static final ThreadLocal<ServiceScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    /**
+     * Gets the {@link ServiceScope} of the current thread.
+     *
+     * @return the current {@link ServiceScope} or {@code null} if there is no current scope
+     */
+    public static @Nullable ServiceScope getCurrentScope() {
+        return CURRENT_SCOPE.get();
+    }
+
+    /**
+     * Gets the {@link ServiceProvider} of the current {@link ServiceScope}.
+     *
+     * @param serviceProvider the {@link ServiceProvider} to use if there is no current scope
+     * @return the {@link ServiceProvider} of the current {@link ServiceScope}, otherwise {@code serviceProvider}
+     */
+    public static @NotNull ServiceProvider getServiceProvider(@NotNull ServiceProvider serviceProvider) {
+        ServiceScope scope = CURRENT_SCOPE.get();
+        return scope != null ? scope.getServiceProvider() : serviceProvider;
+    }
+
+    /**
+     * Runs {@code runnable} with {@code scope} as the current {@link ServiceScope}.
+     *
+     * @param scope    the {@link ServiceScope}
+     * @param runnable the runnable
+     */
+    public static void run(@Nullable ServiceScope scope, @NotNull Runnable runnable) {
+        ServiceScope previousScope = CURRENT_SCOPE.get();
+        CURRENT_SCOPE.set(scope);
+        try {
+            runnable.run();
+        } finally {
+            restore(previousScope);
+        }
+    }
+
+    /**
+     * Calls {@code callable} with {@code scope} as the current {@link ServiceScope}.
+     *
+     * @param <T>      the result type
+     * @param scope    the {@link ServiceScope}
+     * @param callable the callable
+     * @return the result of {@code callable}
+     * @throws Exception if {@code callable} throws an exception
+     */
+    public static <T> T call(@Nullable ServiceScope scope, @NotNull Callable<T> callable) throws Exception {
+        ServiceScope previousScope = CURRENT_SCOPE.get();
+        CURRENT_SCOPE.set(scope);
+        try {
+            return callable.call();
+        } finally {
+            restore(previousScope);
+        }
+    }
+
+    /**
+     * Wraps {@code runnable} so it runs with the current {@link ServiceScope}.
+     *
+     * @param runnable the runnable
+     * @return the wrapped runnable
+     */
+    public static @NotNull Runnable wrap(@NotNull Runnable runnable) {
+        ServiceScope scope = CURRENT_SCOPE.get();
+        if (scope == null) {
+            return runnable;
+        }
+
+        return () -> run(scope, runnable);
+    }
+
+    /**
+     * Wraps {@code callable} so it is called with the current {@link ServiceScope}.
+     *
+     * @param <T>      the result type
+     * @param callable the callable
+     * @return the wrapped callable
+     */
+    public static <T> @NotNull Callable<T> wrap(@NotNull Callable<T> callable) {
+        ServiceScope scope = CURRENT_SCOPE.get();
+        if (scope == null) {
+            return callable;
+        }
+
+        return () -> call(scope, callable);
+    }
+
+    /**
+     * Wraps {@code executor} so every task it executes runs with the current {@link ServiceScope}.
+     * <p>
+     * The scope is captured when this method is called, which allows the wrapped {@link Executor} to be passed to
+     * the {@code *Async} methods of {@link java.util.concurrent.CompletableFuture} so every stage of a pipeline
+     * runs with the same scope.
+     *
+     * @param executor the executor
+     * @return the wrapped executor
+     */
+    public static @NotNull Executor wrap(@NotNull Executor executor) {
+        ServiceScope scope = CURRENT_SCOPE.get();
+        if (scope == null) {
+            return executor;
+        }
+
+        return command -> executor.execute(() -> run(scope, command));
+    }
+
+    private static void restore(@Nullable ServiceScope scope) {
+        if (scope != null) {
+            CURRENT_SCOPE.set(scope);
+        } else {
+            CURRENT_SCOPE.remove();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject.intercept;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Bucket {@code n} counts latencies in the range {@code [2^(n-1), 2^n)}, bucket {@code 0} counts zero latencies.
+ */
+public class LatencyHistogram {
+
+    protected static final int BUCKETS = Long.SIZE;
+
+    protected final AtomicLongArray buckets;
+    protected final LongAdder count;
+    protected final LongAdder total;
+    protected final AtomicLong maximum;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.total = new LongAdder();
+        this.maximum = new AtomicLong();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.increment();
+        total.add(value);
+
+        long currentMaximum = maximum.get();
+        while (value > currentMaximum && !maximum.compareAndSet(currentMaximum, value)) {
+            currentMaximum = maximum.get();
+        }
+    }
+
+    /**
+     * Gets an upper bound for the latency at {@code percentile}.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 1}
+     * @return the upper bound in nanoseconds
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0L) {
+            return 0L;
+        }
+
+        long threshold = Math.max((long) Math.ceil(count * percentile), 1L);
+        long cumulative = 0L;
+        for (int index = 0; index < BUCKETS; index++) {
+            cumulative += buckets.get(index);
+            if (cumulative >= threshold) {
+                long upperBound = index == 0 ? 0L : (1L << index) - 1L;
+                return Math.min(upperBound, getMaximum());
+            }
+        }
+
+        return getMaximum();
+    }
+
+    public long getBucket(int index) {
+        return buckets.get(index);
+    }
+
+    public int getBucketCount() {
+        return BUCKETS;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getMean() {
+        long count = getCount();
+        return count != 0L ? getTotal() / count : 0L;
+    }
+
+    public long getMaximum() {
+        return maximum.get();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the result of each method by its target instance and arguments, evicting the least recently used result
+ * once a method of an instance has cached {@code maximumSize} results.
+ * <p>
+ * Results are never shared between instances, so one interceptor can be registered for services of any lifetime
+ * and for every {@link io.github.lxgaming.common.inject.ServiceProvider} built from the same descriptors. The cache of
+ * an instance is released once the instance is garbage collected.
+ * <p>
+ * Methods returning {@code void} and invocations which throw are not cached. As with every
+ * {@link ServiceInterceptor}, invocations go through a {@link java.lang.reflect.Proxy}, so primitive arguments and
+ * return values are boxed; this interceptor suits methods whose cost far exceeds that overhead.
+ */
+public class MemoizingInterceptor implements ServiceInterceptor {
+
+    protected static final Object NULL = new Object();
+
+    protected final Map<TargetKey, Map<Method, Map<List<Object>, Object>>> caches;
+    protected final ReferenceQueue<Object> queue;
+    protected final int maximumSize;
+
+    public MemoizingInterceptor(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+
+        this.caches = new ConcurrentHashMap<>();
+        this.queue = new ReferenceQueue<>();
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public @Nullable Object intercept(@NotNull ServiceInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getReturnType() == void.class) {
+            return invocation.proceed();
+        }
+
+        Object[] arguments = invocation.getArguments();
+        List<Object> key = arguments != null ? Arrays.asList(arguments.clone()) : Collections.emptyList();
+        Map<List<Object>, Object> cache = getCaches(invocation.getTarget()).computeIfAbsent(method, this::createCache);
+
+        Object value;
+        synchronized (cache) {
+            value = cache.get(key);
+        }
+
+        if (value != null) {
+            return value != NULL ? value : null;
+        }
+
+        Object result = invocation.proceed();
+        synchronized (cache) {
+            cache.put(key, result != null ? result : NULL);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public void clear() {
+        caches.clear();
+    }
+
+    protected @NotNull Map<Method, Map<List<Object>, Object>> getCaches(@NotNull Object target) {
+        for (Reference<?> reference; (reference = queue.poll()) != null; ) {
+            caches.remove(reference);
+        }
+
+        Map<Method, Map<List<Object>, Object>> targetCaches = caches.get(new TargetKey(target, null));
+        if (targetCaches != null) {
+            return targetCaches;
+        }
+
+        return caches.computeIfAbsent(new TargetKey(target, queue), targetKey -> new ConcurrentHashMap<>());
+    }
+
+    protected @NotNull Map<List<Object>, Object> createCache(@NotNull Method method) {
+        return new LinkedHashMap<List<Object>, Object>(16, 0.75F, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Weakly references a target instance, compared by identity.
+     */
+    protected static final class TargetKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        protected TargetKey(@NotNull Object target, @Nullable ReferenceQueue<Object> queue) {
+            super(target, queue);
+            this.hashCode = System.identityHashCode(target);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof TargetKey)) {
+                return false;
+            }
+
+            Object target = get();
+            return target != null && target == ((TargetKey) obj).get();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency of each method in a {@link LatencyHistogram}, including invocations which throw.
+ */
+public class MeteringInterceptor implements ServiceInterceptor {
+
+    protected final Map<Method, LatencyHistogram> histograms;
+
+    public MeteringInterceptor() {
+        this.histograms = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public @Nullable Object intercept(@NotNull ServiceInvocation invocation) throws Throwable {
+        LatencyHistogram histogram = getHistogram(invocation.getMethod());
+        long startTime = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            histogram.record(System.nanoTime() - startTime);
+        }
+    }
+
+    public @NotNull LatencyHistogram getHistogram(@NotNull Method method) {
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram != null) {
+            return histogram;
+        }
+
+        return histograms.computeIfAbsent(method, key -> new LatencyHistogram());
+    }
+
+    public @NotNull Map<Method, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Intercepts method invocations on a service registered with an interface service class.
+ */
+@FunctionalInterface
+public interface ServiceInterceptor {
+
+    /**
+     * Intercepts the invocation, implementations should call {@link ServiceInvocation#proceed()}
+     * to continue to the next interceptor and ultimately the service itself.
+     *
+     * @param invocation the {@link ServiceInvocation}
+     * @return the result of the invocation
+     * @throws Throwable if the invocation throws
+     */
+    @Nullable Object intercept(@NotNull ServiceInvocation invocation) throws Throwable;
+}
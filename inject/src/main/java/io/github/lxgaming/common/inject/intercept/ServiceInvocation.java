@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class ServiceInvocation {
+
+    protected final Object target;
+    protected final Method method;
+    protected final Object[] arguments;
+    protected final ServiceInterceptor[] interceptors;
+    protected final int index;
+
+    protected ServiceInvocation(@NotNull Object target, @NotNull Method method, @Nullable Object[] arguments, @NotNull ServiceInterceptor[] interceptors, int index) {
+        this.target = target;
+        this.method = method;
+        this.arguments = arguments;
+        this.interceptors = interceptors;
+        this.index = index;
+    }
+
+    /**
+     * Continues to the next {@link ServiceInterceptor}, or invokes the service once every interceptor has proceeded.
+     * Each interceptor receives its own invocation, so proceeding more than once repeats the remainder of the chain.
+     *
+     * @return the result of the invocation
+     * @throws Throwable if the invocation throws
+     */
+    public @Nullable Object proceed() throws Throwable {
+        if (index < interceptors.length) {
+            return interceptors[index].intercept(new ServiceInvocation(target, method, arguments, interceptors, index + 1));
+        }
+
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public @NotNull Object getTarget() {
+        return target;
+    }
+
+    public @NotNull Method getMethod() {
+        return method;
+    }
+
+    public @Nullable Object[] getArguments() {
+        return arguments;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject.intercept;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+public class ServiceInvocationHandler implements InvocationHandler {
+
+    protected final Object target;
+    protected final ServiceInterceptor[] interceptors;
+
+    protected ServiceInvocationHandler(@NotNull Object target, @NotNull ServiceInterceptor[] interceptors) {
+        this.target = target;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Creates a proxy of {@code serviceClass} which passes every invocation through {@code interceptors}.
+     *
+     * @param serviceClass the service interface
+     * @param target       the service instance
+     * @param interceptors the {@link ServiceInterceptor}s, in the order they are applied
+     * @return the proxy
+     */
+    public static @NotNull Object createProxy(@NotNull Class<?> serviceClass, @NotNull Object target, @NotNull ServiceInterceptor[] interceptors) {
+        return Proxy.newProxyInstance(serviceClass.getClassLoader(), new Class<?>[]{serviceClass}, new ServiceInvocationHandler(target, interceptors));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            // Compare against the target behind another proxy so equals stays consistent with hashCode.
+            if (method.getName().equals("equals") && args != null && args.length == 1) {
+                return target.equals(unwrap(args[0]));
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        return new ServiceInvocation(target, method, args, interceptors, 0).proceed();
+    }
+
+    protected static @Nullable Object unwrap(@Nullable Object object) {
+        if (object != null && Proxy.isProxyClass(object.getClass())) {
+            InvocationHandler invocationHandler = Proxy.getInvocationHandler(object);
+            if (invocationHandler instanceof ServiceInvocationHandler) {
+                return ((ServiceInvocationHandler) invocationHandler).target;
+            }
+        }
+
+        return object;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.lxgaming.common.ServiceActivation")
+@Label("Service Activation")
+@Category({"Common", "Inject"})
+@Description("Creation of a service instance by a ServiceProvider")
+final class ServiceActivationEvent extends Event {
+
+    @Label("Service Class")
+    Class<?> serviceClass;
+
+    @Label("Implementation Class")
+    Class<?> implementationClass;
+
+    @Label("Lifetime")
+    String lifetime;
+}
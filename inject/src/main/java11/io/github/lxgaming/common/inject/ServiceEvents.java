@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emits Java Flight Recorder events for service activations and {@link ServiceScope} lifetimes.
+ * <p>
+ * The {@code begin} methods return {@code null} when the event is not enabled, so nothing is recorded unless a
+ * recording has enabled it.
+ */
+final class ServiceEvents {
+
+    private ServiceEvents() {
+    }
+
+    static @Nullable Object beginActivation() {
+        ServiceActivationEvent event = new ServiceActivationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+        return event;
+    }
+
+    static void endActivation(@Nullable Object object, @NotNull ServiceDescriptor descriptor) {
+        if (object == null) {
+            return;
+        }
+
+        ServiceActivationEvent event = (ServiceActivationEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.serviceClass = descriptor.getServiceClass();
+            event.implementationClass = descriptor.getImplementationClass();
+            event.lifetime = descriptor.getLifetime().name();
+            event.commit();
+        }
+    }
+
+    static @Nullable Object beginScope() {
+        ServiceScopeEvent event = new ServiceScopeEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+
+        event.begin();
+        return event;
+    }
+
+    static void endScope(@Nullable Object object) {
+        if (object == null) {
+            return;
+        }
+
+        ServiceScopeEvent event = (ServiceScopeEvent) object;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import io.github.lxgaming.common.inject.intercept.MemoizingInterceptor;
+import io.github.lxgaming.common.inject.intercept.MeteringInterceptor;
+import io.github.lxgaming.common.inject.service.BaseService;
+import io.github.lxgaming.common.inject.service.ServiceClassLoader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ServiceCollectionTest {
+
+    @Test
+    void validateFreeze() throws Exception {
+        ServiceClassLoader classLoader = new ServiceClassLoader();
+        ServiceCollection services = new ServiceCollection();
+
+        List<Class<?>> serviceClasses = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            Class<?> serviceClass = classLoader.defineServiceClass("Frozen" + index);
+            services.addSingleton(serviceClass);
+            serviceClasses.add(serviceClass);
+        }
+
+        ServiceDescriptorTable descriptors = services.freeze();
+        Assertions.assertTrue(services.isFrozen());
+        Assertions.assertSame(descriptors, services.freeze());
+        Assertions.assertEquals(serviceClasses.size(), descriptors.size());
+        Assertions.assertThrows(IllegalStateException.class, () -> services.addSingleton(BaseService.class));
+        Assertions.assertThrows(IllegalStateException.class, services::clear);
+
+        for (int index = 0; index < serviceClasses.size(); index++) {
+            Class<?> serviceClass = serviceClasses.get(index);
+            Assertions.assertSame(descriptors.get(index), descriptors.getDescriptor(serviceClass));
+        }
+
+        Assertions.assertNull(descriptors.getDescriptor(BaseService.class));
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Assertions.assertSame(descriptors, provider.descriptors);
+            for (Class<?> serviceClass : serviceClasses) {
+                Assertions.assertNotNull(provider.getService(serviceClass));
+            }
+        }
+    }
+
+    @Test
+    void validateMultipleRegistrations() throws Exception {
+        ServiceClassLoader classLoader = new ServiceClassLoader();
+        Class<?> firstClass = classLoader.defineServiceClass("First");
+        Class<?> secondClass = classLoader.defineServiceClass("Second");
+
+        ServiceCollection services = new ServiceCollection();
+        services.addSingleton(BaseService.class, firstClass);
+        services.addSingleton(BaseService.class, secondClass);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> services.addSingleton(BaseService.class, firstClass));
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Assertions.assertInstanceOf(firstClass, provider.getRequiredService(BaseService.class));
+
+            List<BaseService> instances = provider.getServices(BaseService.class);
+            Assertions.assertEquals(2, instances.size());
+            Assertions.assertInstanceOf(firstClass, instances.get(0));
+            Assertions.assertInstanceOf(secondClass, instances.get(1));
+        }
+    }
+
+    @Test
+    void validateInterceptors() throws Exception {
+        MemoizingInterceptor memoizingInterceptor = new MemoizingInterceptor(1);
+        MeteringInterceptor meteringInterceptor = new MeteringInterceptor();
+
+        ServiceCollection services = new ServiceCollection();
+        services.addSingleton(Calculator.class, CalculatorImpl.class);
+        services.addInterceptor(Calculator.class, meteringInterceptor);
+        services.addInterceptor(Calculator.class, memoizingInterceptor);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> services.addInterceptor(Runnable.class, meteringInterceptor));
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Calculator calculator = provider.getRequiredService(Calculator.class);
+            Assertions.assertEquals(1, calculator.increment(1));
+            Assertions.assertEquals(1, calculator.increment(1));
+            Assertions.assertEquals(3, calculator.increment(2));
+            Assertions.assertEquals(4, calculator.increment(1));
+
+            Method method = Calculator.class.getMethod("increment", int.class);
+            Assertions.assertEquals(4, meteringInterceptor.getHistogram(method).getCount());
+
+            Assertions.assertTrue(calculator.equals(calculator));
+            Assertions.assertEquals(calculator.hashCode(), provider.getRequiredService(Calculator.class).hashCode());
+        }
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Calculator calculator = provider.getRequiredService(Calculator.class);
+            Assertions.assertEquals(1, calculator.increment(1));
+        }
+
+        Assertions.assertThrows(IllegalStateException.class, () -> services.addInterceptor(Calculator.class, meteringInterceptor));
+    }
+
+    @Test
+    void validateInterceptorProceed() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+
+        ServiceCollection services = new ServiceCollection();
+        services.addSingleton(Calculator.class, CalculatorImpl.class);
+        services.addInterceptor(Calculator.class, invocation -> {
+            invocation.proceed();
+            return invocation.proceed();
+        });
+        services.addInterceptor(Calculator.class, invocation -> {
+            invocations.incrementAndGet();
+            return invocation.proceed();
+        });
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Calculator calculator = provider.getRequiredService(Calculator.class);
+            Assertions.assertEquals(2, calculator.increment(1));
+            Assertions.assertEquals(2, invocations.get());
+        }
+    }
+
+    @Test
+    void validateModules() throws Exception {
+        AtomicInteger configured = new AtomicInteger();
+        ServiceCollection services = new ServiceCollection();
+        services.addModule(new ServiceModule() {
+
+            @Override
+            public @NotNull Collection<Class<?>> getServiceClasses() {
+                return Collections.singletonList(Calculator.class);
+            }
+
+            @Override
+            public void configureServices(@NotNull ServiceCollection services) {
+                configured.incrementAndGet();
+                services.addScoped(Calculator.class, CalculatorImpl.class);
+            }
+        });
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Assertions.assertEquals(0, configured.get());
+            try (ServiceScope scope = provider.createScope()) {
+                Assertions.assertEquals(0, configured.get());
+                Calculator calculator = scope.getServiceProvider().getRequiredService(Calculator.class);
+                Assertions.assertSame(calculator, scope.getServiceProvider().getRequiredService(Calculator.class));
+            }
+
+            try (ServiceScope scope = provider.createScope()) {
+                Assertions.assertNotNull(scope.getServiceProvider().getRequiredService(Calculator.class));
+            }
+
+            Assertions.assertEquals(1, configured.get());
+        }
+
+        ServiceCollection conflictingServices = new ServiceCollection();
+        conflictingServices.addSingleton(CalculatorImpl.class);
+        conflictingServices.addModule(new ServiceModule() {
+
+            @Override
+            public @NotNull Collection<Class<?>> getServiceClasses() {
+                return Collections.singletonList(Calculator.class);
+            }
+
+            @Override
+            public void configureServices(@NotNull ServiceCollection services) {
+                services.addSingleton(Calculator.class, CalculatorImpl.class);
+                services.addSingleton(CalculatorImpl.class);
+            }
+        });
+
+        try (ServiceProviderImpl provider = conflictingServices.buildServiceProvider()) {
+            Assertions.assertThrows(IllegalStateException.class, () -> provider.getService(Calculator.class));
+            Assertions.assertThrows(IllegalStateException.class, () -> provider.getService(Calculator.class));
+            Assertions.assertNotNull(provider.getRequiredService(CalculatorImpl.class));
+        }
+    }
+
+    public interface Calculator {
+
+        int increment(int value);
+    }
+
+    public static class CalculatorImpl implements Calculator {
+
+        private int total;
+
+        @Override
+        public int increment(int value) {
+            return total += value;
+        }
+    }
+}
@@ -17,7 +17,10 @@
 package io.github.lxgaming.common.inject;
 
 import io.github.lxgaming.common.inject.service.BaseService;
+import io.github.lxgaming.common.inject.service.CloseableService;
 import io.github.lxgaming.common.inject.service.ServiceClassLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -25,8 +28,12 @@
 import org.junit.jupiter.api.TestInstance;
 import org.objectweb.asm.Type;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class ServiceProviderTest {
@@ -127,4 +134,133 @@ void validateServices() throws Exception {
         Assertions.assertEquals(singletonService.getId(), provider.getRequiredService(singletonServiceClass).getId());
         Assertions.assertNotEquals(transientService.getId(), provider.getRequiredService(transientServiceClass).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void validateChildProvider() throws Exception {
+        Class<? extends BaseService> singletonServiceClass = (Class<? extends BaseService>) internalServices.get(ServiceLifetime.SINGLETON);
+        Class<? extends BaseService> transientServiceClass = (Class<? extends BaseService>) internalServices.get(ServiceLifetime.TRANSIENT);
+
+        ServiceCollection services = new ServiceCollection();
+        services.addSingleton(singletonServiceClass);
+
+        BaseService singletonService = provider.getRequiredService(singletonServiceClass);
+        try (ServiceProviderImpl childProvider = services.buildServiceProvider(provider)) {
+            BaseService childSingletonService = childProvider.getRequiredService(singletonServiceClass);
+            Assertions.assertNotEquals(singletonService.getId(), childSingletonService.getId());
+            Assertions.assertNotNull(childProvider.getRequiredService(transientServiceClass));
+
+            for (ServiceDescriptor descriptor : provider.descriptors) {
+                String name = descriptor.serviceClass.getSimpleName();
+                if (name.startsWith(ServiceLifetime.SINGLETON.name()) && !name.contains(ServiceLifetime.SCOPED.name()) && descriptor.serviceClass != singletonServiceClass) {
+                    Object service = provider.getService(descriptor.serviceClass);
+                    Assertions.assertSame(service, childProvider.getService(descriptor.serviceClass));
+                }
+            }
+
+            try (ServiceScope scope = childProvider.createScope()) {
+                Assertions.assertEquals(childSingletonService.getId(), scope.getServiceProvider().getRequiredService(singletonServiceClass).getId());
+            }
+        }
+
+        Assertions.assertEquals(singletonService.getId(), provider.getRequiredService(singletonServiceClass).getId());
+    }
+
+    @Test
+    void validateReplaceService() throws Exception {
+        CloseableService service = new CloseableService();
+        ServiceCollection services = new ServiceCollection();
+        services.addSingleton(CloseableService.class, service);
+
+        try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+            Assertions.assertSame(service, provider.getRequiredService(CloseableService.class));
+
+            ServiceScope scope = provider.createScope();
+            CloseableService replacementService = new CloseableService();
+            provider.replaceSingleton(CloseableService.class, replacementService);
+
+            Assertions.assertSame(replacementService, provider.getRequiredService(CloseableService.class));
+            Assertions.assertSame(service, scope.getServiceProvider().getRequiredService(CloseableService.class));
+
+            try (ServiceScope scope1 = provider.createScope()) {
+                Assertions.assertSame(replacementService, scope1.getServiceProvider().getRequiredService(CloseableService.class));
+            }
+
+            Assertions.assertFalse(service.isClosed());
+            scope.close();
+            Assertions.assertTrue(service.isClosed());
+            Assertions.assertFalse(replacementService.isClosed());
+        }
+    }
+
+    @Test
+    void validateScopeContext() throws Exception {
+        Class<?> scopedServiceClass = internalServices.get(ServiceLifetime.SCOPED);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ServiceScope scope = provider.createScope()) {
+            Object scopedService = scope.getServiceProvider().getRequiredService(scopedServiceClass);
+            Assertions.assertNull(ServiceScopeContext.getCurrentScope());
+
+            Object asyncService = ServiceScopeContext.call(scope, () -> CompletableFuture.supplyAsync(
+                () -> ServiceScopeContext.getServiceProvider(provider).getRequiredService(scopedServiceClass),
+                ServiceScopeContext.wrap(executor)
+            )).get();
+
+            Assertions.assertSame(scopedService, asyncService);
+            Assertions.assertNull(ServiceScopeContext.getCurrentScope());
+            Assertions.assertNull(executor.submit(ServiceScopeContext::getCurrentScope).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void validateResolutionSet() throws Exception {
+        Class<? extends BaseService> singletonServiceClass = (Class<? extends BaseService>) internalServices.get(ServiceLifetime.SINGLETON);
+        Class<? extends BaseService> scopedServiceClass = (Class<? extends BaseService>) internalServices.get(ServiceLifetime.SCOPED);
+        Class<? extends BaseService> transientServiceClass = (Class<? extends BaseService>) internalServices.get(ServiceLifetime.TRANSIENT);
+
+        ServiceResolutionSet resolutionSet = ServiceResolutionSet.of(singletonServiceClass, scopedServiceClass, transientServiceClass, ServiceProvider.class);
+        try (ServiceScope scope = provider.createScope()) {
+            ServiceProvider scopeProvider = scope.getServiceProvider();
+            for (int index = 0; index < 2; index++) {
+                Object[] services = scopeProvider.getRequiredServices(resolutionSet);
+                Assertions.assertSame(scopeProvider.getRequiredService(singletonServiceClass), services[0]);
+                Assertions.assertSame(scopeProvider.getRequiredService(scopedServiceClass), services[1]);
+                Assertions.assertInstanceOf(transientServiceClass, services[2]);
+                Assertions.assertSame(scopeProvider, services[3]);
+            }
+        }
+
+        Assertions.assertThrows(IllegalStateException.class, () -> provider.getRequiredServices(ServiceResolutionSet.of(Runnable.class)));
+
+        // Implementations which only implement the single service methods fall back to the default method.
+        ServiceProvider delegatingProvider = new ServiceProvider() {
+
+            @Override
+            public @NotNull ServiceScope createScope() {
+                return provider.createScope();
+            }
+
+            @Override
+            public <T> @NotNull T getRequiredService(@NotNull Class<T> serviceClass) {
+                return provider.getRequiredService(serviceClass);
+            }
+
+            @Override
+            public <T> @Nullable T getService(@NotNull Class<T> serviceClass) {
+                return provider.getService(serviceClass);
+            }
+
+            @Override
+            public <T> @NotNull Collection<T> getServices(@NotNull Class<T> serviceClass) {
+                return provider.getServices(serviceClass);
+            }
+        };
+
+        Object[] services = delegatingProvider.getRequiredServices(ServiceResolutionSet.of(singletonServiceClass, ServiceProvider.class));
+        Assertions.assertSame(provider.getRequiredService(singletonServiceClass), services[0]);
+        Assertions.assertSame(provider, services[1]);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 Alex Thomson
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.github.lxgaming.common.inject;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ServiceEventsTest {
+
+    @Test
+    void validateActivationEvents() throws Exception {
+        ServiceCollection services = new ServiceCollection();
+        services.addSingleton(Runnable.class, serviceProvider -> (Runnable) () -> {
+        });
+        services.addSingleton(Callable.class, serviceProvider -> {
+            throw new IllegalStateException("Activation failure");
+        });
+
+        Path path = Files.createTempFile("inject", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.lxgaming.common.ServiceActivation");
+            recording.start();
+            try (ServiceProviderImpl provider = services.buildServiceProvider()) {
+                provider.getRequiredService(Runnable.class);
+                Assertions.assertThrows(IllegalStateException.class, () -> provider.getService(Callable.class));
+            }
+
+            recording.stop();
+            recording.dump(path);
+        }
+
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+            Assertions.assertEquals(2, events.size());
+            Assertions.assertEquals(Runnable.class.getName(), events.get(0).getClass("serviceClass").getName());
+            Assertions.assertEquals(Callable.class.getName(), events.get(1).getClass("serviceClass").getName());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}